@@ -2,11 +2,13 @@ package me.jianwen.mediask;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * MediAsk 智能医疗辅助问诊系统 - 启动类
  */
 @SpringBootApplication
+@EnableScheduling
 public class MediAskApiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,61 @@
+package me.jianwen.mediask.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 排队准入配置（放号高峰期的虚拟候诊室）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.admission")
+public class AdmissionProperties {
+
+    /**
+     * 是否启用排队准入
+     */
+    private boolean enabled = false;
+
+    /**
+     * 需要准入凭证才能访问的接口（Ant 风格路径）
+     */
+    private List<String> protectedPaths = new ArrayList<>(List.of("/api/v1/schedules/available"));
+
+    /**
+     * 默认每秒准入人数
+     */
+    private int defaultRatePerSecond = 50;
+
+    /**
+     * 按范围（{hospitalId}:{deptId}）覆盖的每秒准入人数
+     */
+    private Map<String, Integer> scopeRates = new HashMap<>();
+
+    /**
+     * 准入任务执行间隔（毫秒）
+     */
+    private long admitIntervalMs = 200L;
+
+    /**
+     * 准入凭证有效期（秒）
+     */
+    private long passTtlSeconds = 300L;
+
+    /**
+     * 排队队列有效期（秒），超时未准入的排队号随队列过期
+     */
+    private long queueTtlSeconds = 1800L;
+
+    /**
+     * 获取范围的每秒准入人数
+     */
+    public int rateOf(String scope) {
+        return scopeRates.getOrDefault(scope, defaultRatePerSecond);
+    }
+}
@@ -0,0 +1,38 @@
+package me.jianwen.mediask.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.common.event.AsyncEventBus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 异步事件总线指标（event.bus.published / event.bus.dropped / event.bus.backlog）
+ */
+@Component
+@RequiredArgsConstructor
+public class AsyncEventBusMetrics {
+
+    private final ObjectProvider<AsyncEventBus> eventBus;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void bind() {
+        AsyncEventBus bus = eventBus.getIfAvailable();
+        if (bus == null) {
+            return;
+        }
+        FunctionCounter.builder("event.bus.published", bus, AsyncEventBus::getPublishedCount)
+                .description("已发布到进程内事件总线的事件数")
+                .register(meterRegistry);
+        FunctionCounter.builder("event.bus.dropped", bus, AsyncEventBus::getDroppedCount)
+                .description("事件总线已满时丢弃的事件数")
+                .register(meterRegistry);
+        Gauge.builder("event.bus.backlog", bus, AsyncEventBus::getBacklog)
+                .description("事件总线积压数")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package me.jianwen.mediask.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 医生目录读模型配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.doctor-directory")
+public class DoctorDirectoryProperties {
+
+    /**
+     * 计算"最近可预约排班"时向后查找的天数（含今天）
+     */
+    private int nextAvailableHorizonDays = 14;
+
+    /**
+     * 兜底全量重建间隔（毫秒），同时处理日期滚动
+     */
+    private long refreshIntervalMs = 300000;
+}
@@ -0,0 +1,50 @@
+package me.jianwen.mediask.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.api.model.admission.AdmissionTicketResponse;
+import me.jianwen.mediask.api.service.AdmissionService;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.common.result.Result;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 排队准入接口
+ */
+@RestController
+@RequestMapping("/api/v1/admission")
+@RequiredArgsConstructor
+@Tag(name = "排队准入", description = "放号高峰期排队领号与进度查询")
+public class AdmissionController {
+
+    private final AdmissionService admissionService;
+
+    @PostMapping("/tickets")
+    @Operation(summary = "领取排队号", description = "重复领取返回原排队位置")
+    public Result<AdmissionTicketResponse> enqueue(
+            @Parameter(description = "医院ID") @RequestParam(required = false) Long hospitalId,
+            @Parameter(description = "科室ID") @RequestParam(required = false) Long deptId) {
+        String scope = AdmissionService.scopeOf(hospitalId, deptId);
+        return Result.ok(admissionService.enqueue(scope, currentUserId()));
+    }
+
+    @GetMapping("/tickets")
+    @Operation(summary = "查询排队进度")
+    public Result<AdmissionTicketResponse> poll(
+            @Parameter(description = "排队范围（领号时返回）") @RequestParam(defaultValue = AdmissionService.DEFAULT_SCOPE) String scope) {
+        return Result.ok(admissionService.poll(scope, currentUserId()));
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long id) {
+            return id;
+        }
+        throw new BizException(ErrorCode.UNAUTHORIZED);
+    }
+}
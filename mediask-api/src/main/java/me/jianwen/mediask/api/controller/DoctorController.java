@@ -0,0 +1,57 @@
+package me.jianwen.mediask.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.api.model.doctor.DoctorCardResponse;
+import me.jianwen.mediask.api.service.DoctorDirectory;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.common.result.PageResult;
+import me.jianwen.mediask.common.result.Result;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 医生目录接口
+ */
+@RestController
+@RequestMapping("/api/v1/doctors")
+@RequiredArgsConstructor
+@Tag(name = "医生目录", description = "按科室、职称、擅长浏览医生")
+public class DoctorController {
+
+    private static final long MAX_PAGE_SIZE = 100;
+
+    private final DoctorDirectory doctorDirectory;
+
+    @GetMapping
+    @Operation(summary = "查询医生列表", description = "条件均可为空，多个条件同时满足；按医生ID顺序分页")
+    public Result<PageResult<DoctorCardResponse>> listDoctors(
+            @Parameter(description = "科室ID") @RequestParam(required = false) Long deptId,
+            @Parameter(description = "职称") @RequestParam(required = false) String title,
+            @Parameter(description = "擅长关键词") @RequestParam(required = false) String specialty,
+            @Parameter(description = "只看有号") @RequestParam(defaultValue = "false") boolean availableOnly,
+            @Parameter(description = "页码（从 1 开始）") @RequestParam(defaultValue = "1") long page,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") long size) {
+
+        if (page < 1 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BizException(ErrorCode.PARAM_INVALID);
+        }
+        return Result.ok(doctorDirectory.search(deptId, title, specialty, availableOnly, page, size));
+    }
+
+    @GetMapping("/{doctorId}")
+    @Operation(summary = "查询医生目录条目")
+    public Result<DoctorCardResponse> getDoctor(@PathVariable Long doctorId) {
+        DoctorCardResponse card = doctorDirectory.find(doctorId);
+        if (card == null) {
+            throw new BizException(ErrorCode.DOCTOR_NOT_FOUND);
+        }
+        return Result.ok(card);
+    }
+}
@@ -0,0 +1,45 @@
+package me.jianwen.mediask.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.api.model.hospital.DepartmentResponse;
+import me.jianwen.mediask.api.model.hospital.HospitalResponse;
+import me.jianwen.mediask.api.service.HospitalService;
+import me.jianwen.mediask.common.result.Result;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 医院/科室接口
+ */
+@RestController
+@RequestMapping("/api/v1/hospitals")
+@RequiredArgsConstructor
+@Tag(name = "医院", description = "医院和科室信息相关接口")
+public class HospitalController {
+
+    private final HospitalService hospitalService;
+
+    @GetMapping("/{hospitalId}")
+    @Operation(summary = "查询医院信息")
+    public Result<HospitalResponse> getHospital(@PathVariable Long hospitalId) {
+        return Result.ok(hospitalService.getHospital(hospitalId));
+    }
+
+    @GetMapping("/{hospitalId}/departments")
+    @Operation(summary = "查询医院科室列表")
+    public Result<List<DepartmentResponse>> listDepartments(@PathVariable Long hospitalId) {
+        return Result.ok(hospitalService.listDepartments(hospitalId));
+    }
+
+    @GetMapping("/departments/{deptId}")
+    @Operation(summary = "查询科室信息")
+    public Result<DepartmentResponse> getDepartment(@PathVariable Long deptId) {
+        return Result.ok(hospitalService.getDepartment(deptId));
+    }
+}
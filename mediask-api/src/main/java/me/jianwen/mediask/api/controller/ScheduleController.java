@@ -4,9 +4,15 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
 import me.jianwen.mediask.common.result.Result;
 import me.jianwen.mediask.schedule.application.command.AutoScheduleCommand;
+import me.jianwen.mediask.schedule.application.command.BulkAutoScheduleCommand;
 import me.jianwen.mediask.schedule.application.command.CreateScheduleCommand;
+import me.jianwen.mediask.schedule.application.dto.BulkScheduleProgress;
+import me.jianwen.mediask.schedule.application.dto.SlotAvailability;
+import me.jianwen.mediask.schedule.application.service.BulkScheduleApplicationService;
 import me.jianwen.mediask.schedule.application.service.ScheduleApplicationService;
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
 import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
@@ -30,6 +36,7 @@ import java.util.List;
 public class ScheduleController {
 
     private final ScheduleApplicationService scheduleApplicationService;
+    private final BulkScheduleApplicationService bulkScheduleApplicationService;
 
     /**
      * 创建排班
@@ -53,6 +60,27 @@ public class ScheduleController {
         return Result.ok(scheduleIds);
     }
 
+    /**
+     * 批量自动排班
+     */
+    @PostMapping("/auto/bulk")
+    @Operation(summary = "批量自动排班", description = "按医院或科室为全部医生异步排班，返回任务ID")
+    @PreAuthorize("hasAuthority('schedule:auto')")
+    public Result<String> bulkAutoSchedule(@Validated @RequestBody BulkAutoScheduleCommand command) {
+        return Result.ok(bulkScheduleApplicationService.submit(command));
+    }
+
+    /**
+     * 查询批量自动排班进度
+     */
+    @GetMapping("/auto/bulk/{taskId}")
+    @Operation(summary = "查询批量自动排班进度", description = "返回进度与写入吞吐")
+    @PreAuthorize("hasAuthority('schedule:auto')")
+    public Result<BulkScheduleProgress> getBulkAutoScheduleProgress(
+            @Parameter(description = "任务ID") @PathVariable String taskId) {
+        return Result.ok(bulkScheduleApplicationService.getProgress(taskId));
+    }
+
     /**
      * 停诊
      */
@@ -102,6 +130,16 @@ public class ScheduleController {
         return Result.ok(schedule);
     }
 
+    /**
+     * 查询排班时段可预约情况
+     */
+    @GetMapping("/{scheduleId}/slots")
+    @Operation(summary = "查询排班时段", description = "按排班的时间片布局返回每个时段是否可预约")
+    public Result<List<SlotAvailability>> listSlotAvailability(
+            @Parameter(description = "排班ID") @PathVariable Long scheduleId) {
+        return Result.ok(scheduleApplicationService.listSlotAvailability(scheduleId));
+    }
+
     /**
      * 查询医生排班列表
      */
@@ -121,13 +159,18 @@ public class ScheduleController {
      * 查询可预约的排班
      */
     @GetMapping("/available")
-    @Operation(summary = "查询可预约排班", description = "查询指定日期和时段的可预约排班列表")
+    @Operation(summary = "查询可预约排班", description = "查询指定日期和时段的可预约排班列表，可按医院/科室过滤")
     public Result<List<DoctorSchedule>> listAvailableSchedules(
             @Parameter(description = "日期") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @Parameter(description = "时段代码：1上午 2下午 3晚上") @RequestParam Integer periodCode) {
+            @Parameter(description = "时段代码：1上午 2下午 3晚上") @RequestParam Integer periodCode,
+            @Parameter(description = "医院ID") @RequestParam(required = false) Long hospitalId,
+            @Parameter(description = "科室ID（需同时指定医院）") @RequestParam(required = false) Long deptId) {
 
+        if (deptId != null && hospitalId == null) {
+            throw new BizException(ErrorCode.PARAM_MISSING);
+        }
         TimePeriod period = TimePeriod.fromCode(periodCode);
-        List<DoctorSchedule> schedules = scheduleApplicationService.listOpenSchedules(date, period);
+        List<DoctorSchedule> schedules = scheduleApplicationService.listOpenSchedules(date, period, hospitalId, deptId);
         return Result.ok(schedules);
     }
 }
@@ -0,0 +1,38 @@
+package me.jianwen.mediask.api.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.config.AdmissionProperties;
+import me.jianwen.mediask.api.service.AdmissionService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 排队准入任务
+ * <p>
+ * 按固定间隔从各范围队列出队并发放准入凭证，把放号瞬间的请求洪峰摊平为匀速流量。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionJob {
+
+    private final AdmissionService admissionService;
+    private final AdmissionProperties properties;
+
+    @Scheduled(fixedDelayString = "${mediask.admission.admit-interval-ms:200}")
+    public void admit() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            long admitted = admissionService.admitAll();
+            if (admitted > 0) {
+                log.debug("排队准入: 本轮准入 {} 人", admitted);
+            }
+        } catch (Exception e) {
+            log.error("排队准入失败", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package me.jianwen.mediask.api.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.service.DoctorDirectory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 医生目录兜底重建任务
+ * <p>
+ * 增量更新只作用于本实例，且日期滚动后最近可预约排班需要重新计算，定期全量重建一次。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DoctorDirectoryRefreshJob {
+
+    private final DoctorDirectory doctorDirectory;
+
+    @Scheduled(fixedDelayString = "${mediask.doctor-directory.refresh-interval-ms:300000}",
+            initialDelayString = "${mediask.doctor-directory.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            doctorDirectory.rebuild();
+        } catch (Exception e) {
+            log.error("医生目录重建失败，继续使用旧目录", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package me.jianwen.mediask.api.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.service.OrgDictionary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 医院/科室字典兜底刷新任务
+ * <p>
+ * Pub/Sub 通知不保证送达（如实例断线期间），定期全量重新加载一次。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrgDictionaryRefreshJob {
+
+    private final OrgDictionary orgDictionary;
+
+    @Scheduled(fixedDelayString = "${mediask.dict.refresh-interval-ms:600000}",
+            initialDelayString = "${mediask.dict.refresh-interval-ms:600000}")
+    public void refresh() {
+        try {
+            orgDictionary.reload();
+        } catch (Exception e) {
+            log.error("医院/科室字典刷新失败，继续使用旧快照", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package me.jianwen.mediask.api.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.service.DoctorDirectory;
+import me.jianwen.mediask.common.event.BatchEventHandler;
+import me.jianwen.mediask.schedule.application.service.ScheduleApplicationService;
+import me.jianwen.mediask.schedule.domain.event.ScheduleSlotDecreasedEvent;
+import me.jianwen.mediask.schedule.domain.event.ScheduleStatusChangedEvent;
+import me.jianwen.mediask.schedule.domain.event.SchedulesCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 医生目录增量更新监听器
+ * <p>
+ * 事务提交后按排班领域事件重算对应医生的最近可预约排班（无事务时立即处理）。
+ * 号源扣减事件经异步事件总线批量送达（同一排班合并为剩余数最少的一条），只在售罄时处理；
+ * 只更新本实例，其他实例的目录由定时全量重建追平。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DoctorDirectoryEventListener implements BatchEventHandler<ScheduleSlotDecreasedEvent> {
+
+    private final DoctorDirectory doctorDirectory;
+    private final ScheduleApplicationService scheduleApplicationService;
+
+    /**
+     * 同一批创建的排班按去重后的医生各重算一次
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchedulesCreated(SchedulesCreatedEvent event) {
+        event.getDoctorIds().forEach(doctorId -> refresh(doctorId.getValue(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleStatusChanged(ScheduleStatusChangedEvent event) {
+        refreshBySchedule(event.getScheduleId().getValue(), null);
+    }
+
+    @Override
+    public Class<ScheduleSlotDecreasedEvent> eventType() {
+        return ScheduleSlotDecreasedEvent.class;
+    }
+
+    @Override
+    public Object coalesceKey(ScheduleSlotDecreasedEvent event) {
+        return event.getScheduleId();
+    }
+
+    @Override
+    public ScheduleSlotDecreasedEvent merge(ScheduleSlotDecreasedEvent previous, ScheduleSlotDecreasedEvent next) {
+        return next.getRemainingSlots() <= previous.getRemainingSlots() ? next : previous;
+    }
+
+    @Override
+    public void onBatch(List<ScheduleSlotDecreasedEvent> events) {
+        for (ScheduleSlotDecreasedEvent event : events) {
+            if (event.getRemainingSlots() == 0) {
+                refreshBySchedule(event.getScheduleId().getValue(), event.getScheduleId().getValue());
+            }
+        }
+    }
+
+    private void refreshBySchedule(Long scheduleId, Long soldOutScheduleId) {
+        try {
+            Long doctorId = scheduleApplicationService.getScheduleById(scheduleId).getDoctorId().getValue();
+            refresh(doctorId, soldOutScheduleId);
+        } catch (RuntimeException e) {
+            log.warn("查询排班失败，跳过医生目录更新: scheduleId={}", scheduleId, e);
+        }
+    }
+
+    private void refresh(Long doctorId, Long soldOutScheduleId) {
+        try {
+            doctorDirectory.refreshNextSchedule(doctorId, soldOutScheduleId);
+        } catch (RuntimeException e) {
+            // 更新失败时由定时全量重建修正，不影响业务操作本身
+            log.warn("医生目录更新失败: doctorId={}", doctorId, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package me.jianwen.mediask.api.model.admission;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 排队号响应
+ */
+@Value
+@Builder
+public class AdmissionTicketResponse {
+
+    /**
+     * 排队范围（{hospitalId}:{deptId}），查询排队进度时回传
+     */
+    String scope;
+
+    /**
+     * 是否已准入
+     */
+    boolean admitted;
+
+    /**
+     * 前方排队人数（已准入时为 0）
+     */
+    long position;
+
+    /**
+     * 预计等待时间（秒）
+     */
+    long estimatedWaitSeconds;
+}
@@ -0,0 +1,31 @@
+package me.jianwen.mediask.api.model.doctor;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 医生目录条目（含最近可预约排班）
+ */
+@Value
+@Builder(toBuilder = true)
+public class DoctorCardResponse {
+    Long doctorId;
+    Long hospitalId;
+    Long deptId;
+    String deptName;
+    String realName;
+    String avatarUrl;
+    String title;
+    String specialty;
+    BigDecimal consultationFee;
+    /**
+     * 最近可预约排班，无可预约排班时为空
+     */
+    Long nextScheduleId;
+    LocalDate nextScheduleDate;
+    Integer nextTimePeriod;
+    Integer nextAvailableSlots;
+}
@@ -0,0 +1,19 @@
+package me.jianwen.mediask.api.model.hospital;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 科室信息
+ */
+@Value
+@Builder
+public class DepartmentResponse {
+    Long deptId;
+    Long hospitalId;
+    String deptCode;
+    String deptName;
+    String deptIntro;
+    Integer displayOrder;
+    Integer status;
+}
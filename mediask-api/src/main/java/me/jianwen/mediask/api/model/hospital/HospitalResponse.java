@@ -0,0 +1,19 @@
+package me.jianwen.mediask.api.model.hospital;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 医院信息
+ */
+@Value
+@Builder
+public class HospitalResponse {
+    Long hospitalId;
+    String hospitalName;
+    String hospitalCode;
+    String hospitalLevel;
+    String address;
+    String contactPhone;
+    Integer status;
+}
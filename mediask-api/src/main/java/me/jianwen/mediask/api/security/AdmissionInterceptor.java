@@ -0,0 +1,97 @@
+package me.jianwen.mediask.api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.api.config.AdmissionProperties;
+import me.jianwen.mediask.api.model.doctor.DoctorCardResponse;
+import me.jianwen.mediask.api.service.AdmissionService;
+import me.jianwen.mediask.api.service.DoctorDirectory;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.schedule.application.service.ScheduleApplicationService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 排队准入拦截器
+ * <p>
+ * 受保护接口要求当前用户持有对应范围的准入凭证，否则返回 {@link ErrorCode#APPT_QUEUE_REQUIRED}，
+ * 前端据此进入排队页面。范围由服务端根据路由确定，不信任客户端传入：
+ * 路径中有排班ID或医生ID时取其所属医院/科室，否则取请求参数中的医院/科室（与领号接口一致）。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private final AdmissionService admissionService;
+    private final AdmissionProperties properties;
+    private final ScheduleApplicationService scheduleApplicationService;
+    private final DoctorDirectory doctorDirectory;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Long userId)) {
+            // 未登录请求交由 Spring Security 处理
+            return true;
+        }
+
+        if (!admissionService.isAdmitted(resolveScope(request), userId)) {
+            throw new BizException(ErrorCode.APPT_QUEUE_REQUIRED);
+        }
+        return true;
+    }
+
+    /**
+     * 根据路由确定排队范围
+     */
+    @SuppressWarnings("unchecked")
+    private String resolveScope(HttpServletRequest request) {
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null) {
+            Long scheduleId = parseId(pathVariables.get("scheduleId"));
+            if (scheduleId != null) {
+                return scopeOfDoctor(scheduleApplicationService.getScheduleById(scheduleId).getDoctorId().getValue());
+            }
+            Long doctorId = parseId(pathVariables.get("doctorId"));
+            if (doctorId != null) {
+                return scopeOfDoctor(doctorId);
+            }
+        }
+
+        Long hospitalId = parseId(request.getParameter("hospitalId"));
+        Long deptId = hospitalId == null ? null : parseId(request.getParameter("deptId"));
+        return AdmissionService.scopeOf(hospitalId, deptId);
+    }
+
+    private String scopeOfDoctor(long doctorId) {
+        DoctorCardResponse doctor = doctorDirectory.find(doctorId);
+        if (doctor == null) {
+            throw new BizException(ErrorCode.DOCTOR_NOT_FOUND);
+        }
+        return AdmissionService.scopeOf(doctor.getHospitalId(), doctor.getDeptId());
+    }
+
+    private static Long parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BizException(ErrorCode.PARAM_INVALID);
+        }
+    }
+}
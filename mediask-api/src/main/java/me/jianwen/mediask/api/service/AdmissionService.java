@@ -0,0 +1,173 @@
+package me.jianwen.mediask.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.config.AdmissionProperties;
+import me.jianwen.mediask.api.model.admission.AdmissionTicketResponse;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.common.exception.BizException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 排队准入服务
+ * <p>
+ * 排队号存放在 Redis ZSet 中（score 为递增序号），准入任务按范围限速出队并发放限时凭证；
+ * 每秒准入计数也存放在 Redis 中，多实例部署时总准入速率不会叠加。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionService {
+
+    /**
+     * 默认排队范围
+     */
+    public static final String DEFAULT_SCOPE = "default";
+
+    /**
+     * 领取排队号：已准入返回 -1，否则返回前方排队人数（重复领取不改变排队位置）
+     * KEYS[1]=队列, KEYS[2]=序号, KEYS[3]=凭证, KEYS[4]=范围集合
+     * ARGV[1]=userId, ARGV[2]=scope, ARGV[3]=队列有效期(秒)
+     */
+    private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                return -1
+            end
+            if not redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                local seq = redis.call('INCR', KEYS[2])
+                redis.call('ZADD', KEYS[1], seq, ARGV[1])
+                redis.call('EXPIRE', KEYS[1], ARGV[3])
+                redis.call('EXPIRE', KEYS[2], ARGV[3])
+            end
+            redis.call('SADD', KEYS[4], ARGV[2])
+            return redis.call('ZRANK', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    /**
+     * 按本秒剩余额度出队并发放凭证
+     * KEYS[1]=队列, KEYS[2]=本秒准入计数
+     * ARGV[1]=每秒准入人数, ARGV[2]=凭证Key前缀, ARGV[3]=凭证有效期(秒)
+     */
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            local budget = tonumber(ARGV[1]) - tonumber(redis.call('GET', KEYS[2]) or '0')
+            if budget <= 0 then
+                return 0
+            end
+            local popped = redis.call('ZPOPMIN', KEYS[1], budget)
+            for i = 1, #popped, 2 do
+                redis.call('SET', ARGV[2] .. popped[i], '1', 'EX', ARGV[3])
+            end
+            local admitted = #popped / 2
+            if admitted > 0 then
+                redis.call('INCRBY', KEYS[2], admitted)
+                redis.call('EXPIRE', KEYS[2], 2)
+            end
+            return admitted
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AdmissionProperties properties;
+
+    /**
+     * 构建排队范围
+     */
+    public static String scopeOf(Long hospitalId, Long deptId) {
+        if (hospitalId == null) {
+            return DEFAULT_SCOPE;
+        }
+        return hospitalId + ":" + (deptId == null ? "0" : deptId);
+    }
+
+    /**
+     * 领取排队号
+     */
+    public AdmissionTicketResponse enqueue(String scope, Long userId) {
+        Long rank = stringRedisTemplate.execute(ENQUEUE_SCRIPT,
+                List.of(queueKey(scope), RedisKeyConstants.ADMISSION_SEQ + scope,
+                        passKey(scope, userId), RedisKeyConstants.ADMISSION_SCOPES),
+                String.valueOf(userId), scope, String.valueOf(properties.getQueueTtlSeconds()));
+        if (rank == null || rank < 0) {
+            return ticket(scope, true, 0);
+        }
+        return ticket(scope, false, rank);
+    }
+
+    /**
+     * 查询排队进度
+     */
+    public AdmissionTicketResponse poll(String scope, Long userId) {
+        if (isAdmitted(scope, userId)) {
+            return ticket(scope, true, 0);
+        }
+        Long rank = stringRedisTemplate.opsForZSet().rank(queueKey(scope), String.valueOf(userId));
+        if (rank == null) {
+            // 未领取排队号或排队号已过期
+            throw new BizException(ErrorCode.APPT_QUEUE_REQUIRED);
+        }
+        return ticket(scope, false, rank);
+    }
+
+    /**
+     * 是否持有有效的准入凭证
+     */
+    public boolean isAdmitted(String scope, Long userId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(passKey(scope, userId)));
+    }
+
+    /**
+     * 为所有有排队用户的范围执行一轮准入
+     *
+     * @return 本轮准入人数
+     */
+    public long admitAll() {
+        Set<String> scopes = stringRedisTemplate.opsForSet().members(RedisKeyConstants.ADMISSION_SCOPES);
+        if (scopes == null || scopes.isEmpty()) {
+            return 0;
+        }
+
+        long epochSecond = Instant.now().getEpochSecond();
+        long total = 0;
+        for (String scope : scopes) {
+            Long admitted = stringRedisTemplate.execute(ADMIT_SCRIPT,
+                    List.of(queueKey(scope), RedisKeyConstants.ADMISSION_RATE + scope + ":" + epochSecond),
+                    String.valueOf(properties.rateOf(scope)),
+                    RedisKeyConstants.ADMISSION_PASS + scope + ":",
+                    String.valueOf(properties.getPassTtlSeconds()));
+            total += admitted == null ? 0 : admitted;
+
+            Long waiting = stringRedisTemplate.opsForZSet().zCard(queueKey(scope));
+            if (waiting == null || waiting == 0) {
+                // 队列已空，下次有人领号时会重新加入
+                stringRedisTemplate.opsForSet().remove(RedisKeyConstants.ADMISSION_SCOPES, scope);
+            }
+        }
+        return total;
+    }
+
+    private AdmissionTicketResponse ticket(String scope, boolean admitted, long position) {
+        int rate = Math.max(1, properties.rateOf(scope));
+        return AdmissionTicketResponse.builder()
+                .scope(scope)
+                .admitted(admitted)
+                .position(position)
+                .estimatedWaitSeconds(admitted ? 0 : position / rate + 1)
+                .build();
+    }
+
+    private static String queueKey(String scope) {
+        return RedisKeyConstants.ADMISSION_QUEUE + scope;
+    }
+
+    private static String passKey(String scope, Long userId) {
+        return RedisKeyConstants.ADMISSION_PASS + scope + ":" + userId;
+    }
+}
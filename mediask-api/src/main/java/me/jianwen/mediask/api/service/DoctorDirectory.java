@@ -0,0 +1,386 @@
+package me.jianwen.mediask.api.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.config.DoctorDirectoryProperties;
+import me.jianwen.mediask.api.model.doctor.DoctorCardResponse;
+import me.jianwen.mediask.api.model.hospital.DepartmentResponse;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.common.result.PageResult;
+import me.jianwen.mediask.dal.entity.DoctorDO;
+import me.jianwen.mediask.dal.entity.UserDO;
+import me.jianwen.mediask.dal.enums.StatusEnum;
+import me.jianwen.mediask.dal.mapper.DoctorMapper;
+import me.jianwen.mediask.dal.mapper.UserMapper;
+import me.jianwen.mediask.schedule.application.service.ScheduleApplicationService;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 医生目录（进程内反范式读模型）
+ * <p>
+ * 每位在职医生一条目录条目（姓名、科室名、职称、擅长，以及预先计算的最近可预约排班），按医生ID顺序分配序号；
+ * 科室、职称、擅长关键词各建一份 序号位图 倒排索引，"有号"另用一个位图。
+ * 查询时对命中的位图求交集，再按序号顺序分页，不访问数据库。
+ * </p>
+ * <p>
+ * 启动时和定时任务全量重建（同时处理日期滚动）；排班创建、状态变更、售罄事件只重算对应医生的最近可预约排班；
+ * 医生资料变更通过 Redis 通知各实例重新加载该医生。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoctorDirectory {
+
+    /**
+     * 擅长字段的分隔符（中英文逗号、顿号、分号、空白）
+     */
+    private static final String SPECIALTY_SEPARATOR = "[,，、;；\\s]+";
+
+    private final DoctorMapper doctorMapper;
+    private final UserMapper userMapper;
+    private final OrgDictionary orgDictionary;
+    private final ScheduleApplicationService scheduleApplicationService;
+    private final DoctorDirectoryProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 当前索引，全量重建时整体替换；增量更新在写锁内原地修改
+     */
+    private Index index = new Index();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                reloadDoctor(Long.parseLong(body));
+            } catch (Exception e) {
+                log.error("医生目录条目刷新失败: doctorId={}", body, e);
+            }
+        }, new ChannelTopic(RedisKeyConstants.DOCTOR_DIRECTORY_CHANNEL));
+
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 启动时目录不可用不阻塞应用，由定时任务重试
+            log.error("医生目录构建失败，暂按空目录处理", e);
+        }
+    }
+
+    /**
+     * 全量重建
+     */
+    public void rebuild() {
+        List<DoctorDO> doctors = doctorMapper.selectList(new LambdaQueryWrapper<DoctorDO>()
+                .eq(DoctorDO::getStatus, StatusEnum.ENABLED)
+                .orderByAsc(DoctorDO::getId));
+        Map<Long, UserDO> users = loadUsers(doctors);
+
+        LocalDate today = LocalDate.now();
+        Map<Long, DoctorSchedule> nextSchedules = new HashMap<>();
+        for (DoctorSchedule schedule : scheduleApplicationService.listOpenSchedulesByDateRange(today, horizonEnd(today))) {
+            if (schedule.getCapacity().hasAvailable()) {
+                // 已按日期、时段升序，保留每位医生的第一条
+                nextSchedules.putIfAbsent(schedule.getDoctorId().getValue(), schedule);
+            }
+        }
+
+        Index rebuilt = new Index();
+        for (DoctorDO doctor : doctors) {
+            rebuilt.put(toCard(doctor, users.get(doctor.getUserId()), nextSchedules.get(doctor.getId())));
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("医生目录已构建: {} 位医生, {} 位有号", doctors.size(), nextSchedules.size());
+    }
+
+    /**
+     * 重新加载单个医生（资料变更、停诊等），医生不存在或已停用时从目录移除
+     */
+    public void reloadDoctor(long doctorId) {
+        DoctorDO doctor = doctorMapper.selectById(doctorId);
+        if (doctor == null || doctor.getStatus() != StatusEnum.ENABLED) {
+            lock.writeLock().lock();
+            try {
+                index.remove(doctorId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        UserDO user = doctor.getUserId() == null ? null : userMapper.selectById(doctor.getUserId());
+        DoctorCardResponse card = toCard(doctor, user, findNextSchedule(doctorId, null));
+        lock.writeLock().lock();
+        try {
+            index.put(card);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 重算医生的最近可预约排班
+     *
+     * @param soldOutScheduleId 刚售罄的排班，数据库剩余号源可能尚未回写，计算时排除；为空时不排除
+     */
+    public void refreshNextSchedule(long doctorId, Long soldOutScheduleId) {
+        DoctorCardResponse current = find(doctorId);
+        if (current == null) {
+            return;
+        }
+        if (soldOutScheduleId != null && !soldOutScheduleId.equals(current.getNextScheduleId())) {
+            // 售罄的不是当前展示的排班，最近可预约排班不变
+            return;
+        }
+
+        DoctorSchedule next = findNextSchedule(doctorId, soldOutScheduleId);
+        lock.writeLock().lock();
+        try {
+            DoctorCardResponse latest = index.get(doctorId);
+            if (latest != null) {
+                index.put(withNextSchedule(latest.toBuilder(), next).build());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 通知所有实例（包括本实例）重新加载医生，医生资料变更后调用
+     */
+    public void publishChange(long doctorId) {
+        stringRedisTemplate.convertAndSend(RedisKeyConstants.DOCTOR_DIRECTORY_CHANNEL, String.valueOf(doctorId));
+    }
+
+    public DoctorCardResponse find(long doctorId) {
+        lock.readLock().lock();
+        try {
+            return index.get(doctorId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按条件筛选医生（条件均可为空，多个条件取交集），按医生ID顺序分页
+     *
+     * @param specialty     擅长关键词，需与擅长字段中的某一项完全一致
+     * @param availableOnly 是否只返回有可预约排班的医生
+     */
+    public PageResult<DoctorCardResponse> search(Long deptId, String title, String specialty,
+                                                 boolean availableOnly, long current, long size) {
+        lock.readLock().lock();
+        try {
+            Index idx = index;
+            BitSet matched = (BitSet) idx.live.clone();
+            if (deptId != null) {
+                matched.and(idx.byDept.getOrDefault(deptId, Index.NONE));
+            }
+            if (title != null && !title.isBlank()) {
+                matched.and(idx.byTitle.getOrDefault(title.trim(), Index.NONE));
+            }
+            if (specialty != null && !specialty.isBlank()) {
+                matched.and(idx.bySpecialty.getOrDefault(specialty.trim(), Index.NONE));
+            }
+            if (availableOnly) {
+                matched.and(idx.available);
+            }
+
+            long total = matched.cardinality();
+            long offset = (current - 1) * size;
+            if (offset >= total) {
+                return PageResult.of(List.of(), total, current, size);
+            }
+            int ordinal = matched.nextSetBit(0);
+            for (long skipped = 0; skipped < offset; skipped++) {
+                ordinal = matched.nextSetBit(ordinal + 1);
+            }
+            List<DoctorCardResponse> records = new ArrayList<>((int) Math.min(size, total - offset));
+            while (ordinal >= 0 && records.size() < size) {
+                records.add(idx.cards.get(ordinal));
+                ordinal = matched.nextSetBit(ordinal + 1);
+            }
+            return PageResult.of(records, total, current, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private DoctorSchedule findNextSchedule(long doctorId, Long excludedScheduleId) {
+        LocalDate today = LocalDate.now();
+        return scheduleApplicationService.listSchedulesByDoctorAndDateRange(doctorId, today, horizonEnd(today))
+                .stream()
+                .filter(schedule -> schedule.getStatus().canAppointment() && schedule.getCapacity().hasAvailable())
+                .filter(schedule -> excludedScheduleId == null
+                        || !excludedScheduleId.equals(schedule.getId().getValue()))
+                .min(Comparator.comparing(DoctorSchedule::getScheduleDate)
+                        .thenComparing(schedule -> schedule.getTimePeriod().getCode()))
+                .orElse(null);
+    }
+
+    private LocalDate horizonEnd(LocalDate today) {
+        return today.plusDays(Math.max(1, properties.getNextAvailableHorizonDays()) - 1L);
+    }
+
+    private Map<Long, UserDO> loadUsers(List<DoctorDO> doctors) {
+        Set<Long> userIds = new HashSet<>();
+        for (DoctorDO doctor : doctors) {
+            if (doctor.getUserId() != null) {
+                userIds.add(doctor.getUserId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userMapper.selectByIds(userIds).stream()
+                .collect(Collectors.toMap(UserDO::getId, Function.identity()));
+    }
+
+    private DoctorCardResponse toCard(DoctorDO doctor, UserDO user, DoctorSchedule next) {
+        DepartmentResponse dept = doctor.getDeptId() == null ? null : orgDictionary.findDepartment(doctor.getDeptId());
+        DoctorCardResponse.DoctorCardResponseBuilder builder = DoctorCardResponse.builder()
+                .doctorId(doctor.getId())
+                .hospitalId(doctor.getHospitalId())
+                .deptId(doctor.getDeptId())
+                .deptName(dept != null ? dept.getDeptName() : null)
+                .realName(user != null ? user.getRealName() : null)
+                .avatarUrl(user != null ? user.getAvatarUrl() : null)
+                .title(doctor.getTitle())
+                .specialty(doctor.getSpecialty())
+                .consultationFee(doctor.getConsultationFee());
+        return withNextSchedule(builder, next).build();
+    }
+
+    private static DoctorCardResponse.DoctorCardResponseBuilder withNextSchedule(
+            DoctorCardResponse.DoctorCardResponseBuilder builder, DoctorSchedule next) {
+        return builder
+                .nextScheduleId(next != null ? next.getId().getValue() : null)
+                .nextScheduleDate(next != null ? next.getScheduleDate() : null)
+                .nextTimePeriod(next != null ? next.getTimePeriod().getCode() : null)
+                .nextAvailableSlots(next != null ? next.getCapacity().getAvailableSlots() : null);
+    }
+
+    /**
+     * 目录索引（由外层读写锁保护）
+     * <p>
+     * 序号一经分配不再回收，移除的医生只清除 live 位；cards 与序号下标对齐。
+     * </p>
+     */
+    private static final class Index {
+
+        private static final BitSet NONE = new BitSet();
+
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<DoctorCardResponse> cards = new ArrayList<>();
+        private final BitSet live = new BitSet();
+        private final BitSet available = new BitSet();
+        private final Map<Long, BitSet> byDept = new HashMap<>();
+        private final Map<String, BitSet> byTitle = new HashMap<>();
+        private final Map<String, BitSet> bySpecialty = new HashMap<>();
+
+        private DoctorCardResponse get(long doctorId) {
+            Integer ordinal = ordinals.get(doctorId);
+            return ordinal == null || !live.get(ordinal) ? null : cards.get(ordinal);
+        }
+
+        private void put(DoctorCardResponse card) {
+            Integer ordinal = ordinals.get(card.getDoctorId());
+            if (ordinal == null) {
+                ordinal = cards.size();
+                ordinals.put(card.getDoctorId(), ordinal);
+                cards.add(card);
+            } else {
+                unindex(ordinal);
+                cards.set(ordinal, card);
+            }
+
+            live.set(ordinal);
+            available.set(ordinal, card.getNextScheduleId() != null);
+            if (card.getDeptId() != null) {
+                byDept.computeIfAbsent(card.getDeptId(), k -> new BitSet()).set(ordinal);
+            }
+            if (card.getTitle() != null && !card.getTitle().isBlank()) {
+                byTitle.computeIfAbsent(card.getTitle().trim(), k -> new BitSet()).set(ordinal);
+            }
+            for (String keyword : specialtyKeywords(card)) {
+                bySpecialty.computeIfAbsent(keyword, k -> new BitSet()).set(ordinal);
+            }
+        }
+
+        private void remove(long doctorId) {
+            Integer ordinal = ordinals.get(doctorId);
+            if (ordinal != null && live.get(ordinal)) {
+                unindex(ordinal);
+                live.clear(ordinal);
+                available.clear(ordinal);
+            }
+        }
+
+        private void unindex(int ordinal) {
+            DoctorCardResponse old = cards.get(ordinal);
+            if (old.getDeptId() != null) {
+                clear(byDept, old.getDeptId(), ordinal);
+            }
+            if (old.getTitle() != null && !old.getTitle().isBlank()) {
+                clear(byTitle, old.getTitle().trim(), ordinal);
+            }
+            for (String keyword : specialtyKeywords(old)) {
+                clear(bySpecialty, keyword, ordinal);
+            }
+        }
+
+        private static <K> void clear(Map<K, BitSet> postings, K key, int ordinal) {
+            BitSet bits = postings.get(key);
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+
+        private static Set<String> specialtyKeywords(DoctorCardResponse card) {
+            if (card.getSpecialty() == null || card.getSpecialty().isBlank()) {
+                return Set.of();
+            }
+            Set<String> keywords = new HashSet<>();
+            for (String keyword : card.getSpecialty().trim().split(SPECIALTY_SEPARATOR)) {
+                if (!keyword.isEmpty()) {
+                    keywords.add(keyword);
+                }
+            }
+            return keywords;
+        }
+    }
+}
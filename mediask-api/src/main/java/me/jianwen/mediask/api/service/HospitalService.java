@@ -0,0 +1,44 @@
+package me.jianwen.mediask.api.service;
+
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.api.model.hospital.DepartmentResponse;
+import me.jianwen.mediask.api.model.hospital.HospitalResponse;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 医院/科室查询服务（API 层薄服务）
+ * <p>
+ * 从进程内字典快照读取，不访问数据库和 Redis。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class HospitalService {
+
+    private final OrgDictionary orgDictionary;
+
+    public HospitalResponse getHospital(Long hospitalId) {
+        HospitalResponse hospital = orgDictionary.findHospital(hospitalId);
+        if (hospital == null) {
+            throw new BizException(ErrorCode.HOSPITAL_NOT_FOUND);
+        }
+        return hospital;
+    }
+
+    public List<DepartmentResponse> listDepartments(Long hospitalId) {
+        getHospital(hospitalId);
+        return orgDictionary.departmentsOf(hospitalId);
+    }
+
+    public DepartmentResponse getDepartment(Long deptId) {
+        DepartmentResponse dept = orgDictionary.findDepartment(deptId);
+        if (dept == null) {
+            throw new BizException(ErrorCode.DEPARTMENT_NOT_FOUND);
+        }
+        return dept;
+    }
+}
@@ -0,0 +1,213 @@
+package me.jianwen.mediask.api.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.api.model.hospital.DepartmentResponse;
+import me.jianwen.mediask.api.model.hospital.HospitalResponse;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.dal.entity.DepartmentDO;
+import me.jianwen.mediask.dal.entity.HospitalDO;
+import me.jianwen.mediask.dal.mapper.DepartmentMapper;
+import me.jianwen.mediask.dal.mapper.HospitalMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 医院/科室字典（进程内只读快照）
+ * <p>
+ * 启动时全量加载医院和科室，构建只读快照：ID 有序存放在 {@code long[]} 中二分查找，编码查找使用预建的 Map，
+ * 查询不创建对象、不访问网络。收到 Redis 变更通知（或定时兜底刷新）时构建新快照，再通过 volatile 引用一次性替换。
+ * 未找到时返回 null。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrgDictionary {
+
+    private final HospitalMapper hospitalMapper;
+    private final DepartmentMapper departmentMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                reload();
+            } catch (Exception e) {
+                log.error("医院/科室字典刷新失败，继续使用旧快照", e);
+            }
+        }, new ChannelTopic(RedisKeyConstants.ORG_DICT_CHANNEL));
+
+        try {
+            reload();
+        } catch (Exception e) {
+            // 启动时字典不可用不阻塞应用，由变更通知或定时刷新重试
+            log.error("医院/科室字典加载失败，暂按空字典处理", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载并替换快照
+     */
+    public void reload() {
+        List<HospitalDO> hospitals = hospitalMapper.selectList(null);
+        List<DepartmentDO> departments = departmentMapper.selectList(null);
+        snapshot = Snapshot.build(hospitals, departments);
+        log.info("医院/科室字典已加载: {} 家医院, {} 个科室", hospitals.size(), departments.size());
+    }
+
+    /**
+     * 通知所有实例（包括本实例）重新加载，医院/科室数据变更后调用
+     */
+    public void publishChange() {
+        stringRedisTemplate.convertAndSend(RedisKeyConstants.ORG_DICT_CHANNEL, "reload");
+    }
+
+    public HospitalResponse findHospital(long hospitalId) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.hospitalIds, hospitalId);
+        return index < 0 ? null : current.hospitals[index];
+    }
+
+    public HospitalResponse findHospitalByCode(String hospitalCode) {
+        return snapshot.hospitalsByCode.get(hospitalCode);
+    }
+
+    public DepartmentResponse findDepartment(long deptId) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.departmentIds, deptId);
+        return index < 0 ? null : current.departments[index];
+    }
+
+    /**
+     * 按医院内科室编码查找
+     */
+    public DepartmentResponse findDepartmentByCode(long hospitalId, String deptCode) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.hospitalIds, hospitalId);
+        return index < 0 ? null : current.departmentsByCode[index].get(deptCode);
+    }
+
+    /**
+     * 医院下的科室（按显示顺序，只读）
+     */
+    public List<DepartmentResponse> departmentsOf(long hospitalId) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.hospitalIds, hospitalId);
+        return index < 0 ? List.of() : current.departmentsByHospital[index];
+    }
+
+    /**
+     * 字典快照（构建后只读）
+     * <p>
+     * hospitals / departmentsByHospital / departmentsByCode 与 hospitalIds 下标对齐，departments 与 departmentIds 下标对齐。
+     * </p>
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = build(List.of(), List.of());
+
+        private final long[] hospitalIds;
+        private final HospitalResponse[] hospitals;
+        private final Map<String, HospitalResponse> hospitalsByCode;
+        private final List<DepartmentResponse>[] departmentsByHospital;
+        private final Map<String, DepartmentResponse>[] departmentsByCode;
+        private final long[] departmentIds;
+        private final DepartmentResponse[] departments;
+
+        @SuppressWarnings("unchecked")
+        private Snapshot(int hospitalCount, int departmentCount) {
+            this.hospitalIds = new long[hospitalCount];
+            this.hospitals = new HospitalResponse[hospitalCount];
+            this.hospitalsByCode = new HashMap<>(hospitalCount * 2);
+            this.departmentsByHospital = new List[hospitalCount];
+            this.departmentsByCode = new Map[hospitalCount];
+            this.departmentIds = new long[departmentCount];
+            this.departments = new DepartmentResponse[departmentCount];
+        }
+
+        private static Snapshot build(List<HospitalDO> hospitalRows, List<DepartmentDO> departmentRows) {
+            List<HospitalDO> sortedHospitals = new ArrayList<>(hospitalRows);
+            sortedHospitals.sort(Comparator.comparing(HospitalDO::getId));
+            List<DepartmentDO> sortedDepartments = new ArrayList<>(departmentRows);
+            sortedDepartments.sort(Comparator.comparing(DepartmentDO::getId));
+
+            Snapshot snapshot = new Snapshot(sortedHospitals.size(), sortedDepartments.size());
+            List<List<DepartmentResponse>> grouped = new ArrayList<>(sortedHospitals.size());
+            for (int i = 0; i < sortedHospitals.size(); i++) {
+                HospitalResponse hospital = toResponse(sortedHospitals.get(i));
+                snapshot.hospitalIds[i] = hospital.getHospitalId();
+                snapshot.hospitals[i] = hospital;
+                if (hospital.getHospitalCode() != null) {
+                    snapshot.hospitalsByCode.put(hospital.getHospitalCode(), hospital);
+                }
+                grouped.add(new ArrayList<>());
+            }
+
+            for (int i = 0; i < sortedDepartments.size(); i++) {
+                DepartmentResponse department = toResponse(sortedDepartments.get(i));
+                snapshot.departmentIds[i] = department.getDeptId();
+                snapshot.departments[i] = department;
+                int hospitalIndex = department.getHospitalId() == null
+                        ? -1 : Arrays.binarySearch(snapshot.hospitalIds, department.getHospitalId());
+                if (hospitalIndex >= 0) {
+                    grouped.get(hospitalIndex).add(department);
+                }
+            }
+
+            Comparator<DepartmentResponse> displayOrder = Comparator.comparing(
+                    DepartmentResponse::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder()));
+            for (int i = 0; i < grouped.size(); i++) {
+                List<DepartmentResponse> list = grouped.get(i);
+                list.sort(displayOrder);
+                Map<String, DepartmentResponse> byCode = new HashMap<>(list.size() * 2);
+                for (DepartmentResponse department : list) {
+                    if (department.getDeptCode() != null) {
+                        byCode.put(department.getDeptCode(), department);
+                    }
+                }
+                snapshot.departmentsByHospital[i] = List.copyOf(list);
+                snapshot.departmentsByCode[i] = Map.copyOf(byCode);
+            }
+            return snapshot;
+        }
+
+        private static HospitalResponse toResponse(HospitalDO hospital) {
+            return HospitalResponse.builder()
+                    .hospitalId(hospital.getId())
+                    .hospitalName(hospital.getHospitalName())
+                    .hospitalCode(hospital.getHospitalCode())
+                    .hospitalLevel(hospital.getHospitalLevel())
+                    .address(hospital.getAddress())
+                    .contactPhone(hospital.getContactPhone())
+                    .status(hospital.getStatus() != null ? hospital.getStatus().getCode() : null)
+                    .build();
+        }
+
+        private static DepartmentResponse toResponse(DepartmentDO dept) {
+            return DepartmentResponse.builder()
+                    .deptId(dept.getId())
+                    .hospitalId(dept.getHospitalId())
+                    .deptCode(dept.getDeptCode())
+                    .deptName(dept.getDeptName())
+                    .deptIntro(dept.getDeptIntro())
+                    .displayOrder(dept.getDisplayOrder())
+                    .status(dept.getStatus() != null ? dept.getStatus().getCode() : null)
+                    .build();
+        }
+    }
+}
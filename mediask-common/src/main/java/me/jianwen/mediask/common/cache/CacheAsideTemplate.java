@@ -0,0 +1,186 @@
+package me.jianwen.mediask.common.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.LockKeys;
+import me.jianwen.mediask.common.lock.DistributedLock;
+import me.jianwen.mediask.common.lock.DistributedLockFactory;
+import me.jianwen.mediask.common.util.JsonUtil;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 旁路缓存模板（防击穿）
+ * <p>
+ * 读取流程：
+ * 1. 缓存有效且未触发提前刷新（XFetch）时直接返回；
+ * 2. 缓存已逻辑过期或触发提前刷新时，由本实例第一个请求在拿到 {@link LockKeys#CACHE_REBUILD} 锁后重建，
+ *    锁被其他实例持有或本实例已在重建时直接返回旧值；
+ * 3. 缓存缺失或超出陈旧窗口时，本实例同一 Key 的并发请求合并为一次加载，
+ *    加载前等待其他实例的重建锁并再次读取缓存，等待超时后直接回源。
+ * 缓存读写或加锁失败时降级为直接回源，不影响业务。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+public class CacheAsideTemplate {
+
+    private final DistributedLockFactory lockFactory;
+    private final RedissonClient redissonClient;
+
+    /**
+     * 本实例正在加载的 Key
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CacheAsideTemplate(DistributedLockFactory lockFactory, RedissonClient redissonClient) {
+        this.lockFactory = lockFactory;
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 读取 Redis 缓存（JSON），未命中时通过 loader 加载
+     *
+     * @param key    缓存 Key
+     * @param type   值类型
+     * @param policy 缓存策略
+     * @param loader 回源加载（可返回 null，null 同样会被缓存）
+     */
+    public <V> V get(String key, Class<V> type, CachePolicy policy, Supplier<V> loader) {
+        return get(key, redisStore(JsonUtil.getObjectMapper().constructType(type)), policy, loader);
+    }
+
+    /**
+     * 读取指定存储中的缓存，未命中时通过 loader 加载
+     */
+    public <V> V get(String key, CacheStore<V> store, CachePolicy policy, Supplier<V> loader) {
+        CacheValue<V> cached = read(key, store);
+        long now = System.currentTimeMillis();
+        if (cached != null && !cached.isUnusable(now, policy.getStaleTtl().toMillis())) {
+            if (!cached.isExpired(now) && !cached.shouldRefreshEarly(now, policy.getBeta())) {
+                return cached.getValue();
+            }
+            return load(key, store, policy, loader, cached);
+        }
+        return load(key, store, policy, loader, null);
+    }
+
+    /**
+     * 创建 Redis 存储
+     */
+    public <V> CacheStore<V> redisStore(JavaType valueType) {
+        return new RedisCacheStore<>(redissonClient, valueType);
+    }
+
+    /**
+     * 本实例内合并加载：第一个请求负责重建，其余请求有旧值时返回旧值，否则等待结果
+     */
+    @SuppressWarnings("unchecked")
+    private <V> V load(String key, CacheStore<V> store, CachePolicy policy, Supplier<V> loader, CacheValue<V> stale) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (stale != null) {
+                return stale.getValue();
+            }
+            try {
+                return (V) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        try {
+            V value = rebuild(key, store, policy, loader, stale);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 跨实例重建：有旧值时不等待锁，无旧值时等待锁后再次读取缓存
+     */
+    private <V> V rebuild(String key, CacheStore<V> store, CachePolicy policy, Supplier<V> loader, CacheValue<V> stale) {
+        DistributedLock lock;
+        boolean locked;
+        try {
+            lock = lockFactory.createLock(LockKeys.CACHE_REBUILD.buildKey(key));
+            long waitMillis = stale != null ? 0 : policy.getLockWait().toMillis();
+            locked = lock.tryLock(waitMillis, LockKeys.CACHE_REBUILD.getRecommendedLeaseTime(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.warn("获取缓存重建锁失败，直接回源: key={}", key, e);
+            return loadAndStore(key, store, policy, loader, stale);
+        }
+
+        if (!locked) {
+            if (stale != null) {
+                // 其他实例正在重建，返回旧值
+                return stale.getValue();
+            }
+            CacheValue<V> rebuilt = read(key, store);
+            if (rebuilt != null && !rebuilt.isExpired(System.currentTimeMillis())) {
+                return rebuilt.getValue();
+            }
+            log.debug("等待缓存重建超时，直接回源: key={}", key);
+            return loadAndStore(key, store, policy, loader, null);
+        }
+
+        try {
+            // 拿到锁后再读一次，其他实例可能刚完成重建
+            CacheValue<V> current = read(key, store);
+            if (current != null && !current.isExpired(System.currentTimeMillis())
+                    && (stale == null || current.getExpireAt() > stale.getExpireAt())) {
+                return current.getValue();
+            }
+            return loadAndStore(key, store, policy, loader, stale);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <V> V loadAndStore(String key, CacheStore<V> store, CachePolicy policy,
+                               Supplier<V> loader, CacheValue<V> stale) {
+        long start = System.currentTimeMillis();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            if (stale != null) {
+                log.warn("缓存重建失败，返回旧值: key={}", key, e);
+                return stale.getValue();
+            }
+            throw e;
+        }
+
+        long end = System.currentTimeMillis();
+        Duration ttl = policy.getTtl();
+        try {
+            store.put(key, CacheValue.of(value, end + ttl.toMillis(), end - start), ttl.plus(policy.getStaleTtl()));
+        } catch (RuntimeException e) {
+            log.warn("写入缓存失败: key={}", key, e);
+        }
+        return value;
+    }
+
+    private <V> CacheValue<V> read(String key, CacheStore<V> store) {
+        try {
+            return store.get(key);
+        } catch (RuntimeException e) {
+            log.warn("读取缓存失败，按未命中处理: key={}", key, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package me.jianwen.mediask.common.cache;
+
+import lombok.Builder;
+import lombok.Value;
+import me.jianwen.mediask.common.constant.LockKeys;
+
+import java.time.Duration;
+
+/**
+ * 缓存策略
+ *
+ * @author jianwen
+ */
+@Value
+@Builder
+public class CachePolicy {
+
+    /**
+     * 逻辑有效期
+     */
+    Duration ttl;
+
+    /**
+     * 陈旧窗口：逻辑过期后仍可返回旧值的时长（重建期间使用）
+     */
+    @Builder.Default
+    Duration staleTtl = Duration.ZERO;
+
+    /**
+     * 提前刷新系数（XFetch beta），0 表示不提前刷新
+     */
+    @Builder.Default
+    double beta = 1.0;
+
+    /**
+     * 无可用旧值时等待其他实例重建的最长时间
+     */
+    @Builder.Default
+    Duration lockWait = Duration.ofSeconds(LockKeys.CACHE_REBUILD.getRecommendedWaitTime());
+
+    public static CachePolicy of(Duration ttl, Duration staleTtl) {
+        return CachePolicy.builder().ttl(ttl).staleTtl(staleTtl).build();
+    }
+}
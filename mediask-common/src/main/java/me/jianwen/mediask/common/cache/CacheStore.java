@@ -0,0 +1,29 @@
+package me.jianwen.mediask.common.cache;
+
+import java.time.Duration;
+
+/**
+ * 缓存存储
+ * <p>
+ * 由 {@link CacheAsideTemplate} 读写，只负责存取，不处理过期判断和重建。
+ * </p>
+ *
+ * @param <V> 值类型
+ * @author jianwen
+ */
+public interface CacheStore<V> {
+
+    /**
+     * 读取缓存
+     *
+     * @return 未命中时返回 null
+     */
+    CacheValue<V> get(String key);
+
+    /**
+     * 写入缓存
+     *
+     * @param ttl 物理有效期（逻辑有效期 + 陈旧窗口）
+     */
+    void put(String key, CacheValue<V> value, Duration ttl);
+}
@@ -0,0 +1,65 @@
+package me.jianwen.mediask.common.cache;
+
+import lombok.Value;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 缓存值（附带逻辑过期时间和重建耗时）
+ * <p>
+ * 物理过期时间 = 逻辑过期时间 + 陈旧窗口：逻辑过期后、物理过期前的值仍可在重建期间返回。
+ * </p>
+ *
+ * @param <V> 值类型
+ * @author jianwen
+ */
+@Value
+public class CacheValue<V> {
+
+    /**
+     * 缓存的值（可为 null，表示数据不存在）
+     */
+    V value;
+
+    /**
+     * 逻辑过期时间（毫秒时间戳）
+     */
+    long expireAt;
+
+    /**
+     * 上次重建耗时（毫秒），用于提前刷新概率计算
+     */
+    long rebuildMillis;
+
+    public static <V> CacheValue<V> of(V value, long expireAt, long rebuildMillis) {
+        return new CacheValue<>(value, expireAt, rebuildMillis);
+    }
+
+    /**
+     * 是否已逻辑过期
+     */
+    public boolean isExpired(long now) {
+        return now >= expireAt;
+    }
+
+    /**
+     * 是否已超出陈旧窗口（不能再返回）
+     */
+    public boolean isUnusable(long now, long staleMillis) {
+        return now >= expireAt + staleMillis;
+    }
+
+    /**
+     * 概率提前刷新（XFetch）：now - rebuildMillis * beta * ln(rand) >= expireAt
+     * <p>
+     * 越接近过期、重建越慢，提前刷新的概率越大；beta 越大越倾向提前刷新。
+     * </p>
+     */
+    public boolean shouldRefreshEarly(long now, double beta) {
+        if (rebuildMillis <= 0 || beta <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - rebuildMillis * beta * Math.log(random) >= expireAt;
+    }
+}
@@ -0,0 +1,74 @@
+package me.jianwen.mediask.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import me.jianwen.mediask.common.exception.SysException;
+import me.jianwen.mediask.common.util.JsonUtil;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+
+/**
+ * 基于 Redis String 的缓存存储（JSON）
+ * <p>
+ * 存储格式：{"value": ..., "expireAt": ..., "rebuildMillis": ...}
+ * </p>
+ *
+ * @param <V> 值类型
+ * @author jianwen
+ */
+public class RedisCacheStore<V> implements CacheStore<V> {
+
+    private static final String VALUE = "value";
+    private static final String EXPIRE_AT = "expireAt";
+    private static final String REBUILD_MILLIS = "rebuildMillis";
+
+    private final RedissonClient redissonClient;
+    private final JavaType valueType;
+
+    public RedisCacheStore(RedissonClient redissonClient, JavaType valueType) {
+        this.redissonClient = redissonClient;
+        this.valueType = valueType;
+    }
+
+    @Override
+    public CacheValue<V> get(String key) {
+        String json = bucket(key).get();
+        if (json == null) {
+            return null;
+        }
+        ObjectMapper mapper = JsonUtil.getObjectMapper();
+        try {
+            JsonNode node = mapper.readTree(json);
+            JsonNode value = node.get(VALUE);
+            V decoded = value == null || value.isNull() ? null : mapper.convertValue(value, valueType);
+            return CacheValue.of(decoded, node.path(EXPIRE_AT).asLong(), node.path(REBUILD_MILLIS).asLong());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // 格式不兼容（如结构变更）按未命中处理，重建后覆盖
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, CacheValue<V> value, Duration ttl) {
+        ObjectMapper mapper = JsonUtil.getObjectMapper();
+        ObjectNode node = mapper.createObjectNode();
+        node.set(VALUE, mapper.valueToTree(value.getValue()));
+        node.put(EXPIRE_AT, value.getExpireAt());
+        node.put(REBUILD_MILLIS, value.getRebuildMillis());
+        try {
+            bucket(key).set(mapper.writeValueAsString(node), ttl);
+        } catch (JsonProcessingException e) {
+            throw new SysException("缓存序列化失败: " + key, e);
+        }
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(key, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,31 @@
+package me.jianwen.mediask.common.cache.config;
+
+import me.jianwen.mediask.common.cache.CacheAsideTemplate;
+import me.jianwen.mediask.common.lock.DistributedLockFactory;
+import me.jianwen.mediask.common.lock.config.DistributedLockAutoConfiguration;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 旁路缓存自动配置类
+ * <p>
+ * 生效条件：已注册分布式锁工厂（重建锁依赖分布式锁）
+ * </p>
+ *
+ * @author jianwen
+ */
+@Configuration
+@AutoConfigureAfter(DistributedLockAutoConfiguration.class)
+@ConditionalOnBean(DistributedLockFactory.class)
+public class CacheAsideAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheAsideTemplate cacheAsideTemplate(DistributedLockFactory lockFactory, RedissonClient redissonClient) {
+        return new CacheAsideTemplate(lockFactory, redissonClient);
+    }
+}
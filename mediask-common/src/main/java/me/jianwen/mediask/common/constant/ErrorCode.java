@@ -72,6 +72,7 @@ public enum ErrorCode {
     APPT_LOCKED(3009, "号源正在被锁定，请稍后重试"),
     SCHEDULE_NOT_FOUND(3010, "排班信息不存在"),
     SCHEDULE_UNAVAILABLE(3011, "该排班不可预约"),
+    APPT_QUEUE_REQUIRED(3012, "当前挂号人数较多，请排队等候"),
 
     // ==================== 医生模块错误 (4xxx) ====================
     DOCTOR_NOT_FOUND(4001, "医生信息不存在"),
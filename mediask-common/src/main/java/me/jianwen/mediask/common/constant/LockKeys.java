@@ -219,6 +219,37 @@ public enum LockKeys {
                 .collect(Collectors.joining(":"));
     }
 
+    /**
+     * 枚举值缓存（values() 每次调用都会复制数组）
+     */
+    private static final LockKeys[] VALUES = values();
+
+    /**
+     * 根据完整锁键反查锁键定义（取最长匹配前缀）
+     * <p>
+     * 用于按锁类型而非完整锁键统计指标，避免标签基数随业务ID增长。
+     * </p>
+     *
+     * @param lockKey 业务锁键（不含全局前缀）
+     * @return 锁键定义，未匹配时返回 null
+     */
+    public static LockKeys fromKey(String lockKey) {
+        if (lockKey == null) {
+            return null;
+        }
+        LockKeys matched = null;
+        for (LockKeys candidate : VALUES) {
+            String prefix = candidate.prefix;
+            // 前缀匹配，或等于去掉末尾冒号的前缀（不分配新字符串）
+            boolean hit = lockKey.startsWith(prefix)
+                    || (lockKey.length() == prefix.length() - 1 && prefix.startsWith(lockKey));
+            if (hit && (matched == null || prefix.length() > matched.prefix.length())) {
+                matched = candidate;
+            }
+        }
+        return matched;
+    }
+
     /**
      * 获取锁键前缀（兼容旧代码）
      *
@@ -65,6 +65,53 @@ public final class RedisKeyConstants {
      */
     public static final String SCHEDULE_CACHE = PREFIX + "schedule:doctor:%s:%s";
 
+    /**
+     * 排班号源库存（Hash: available / total）
+     * 完整 Key: mediask:schedule:stock:{scheduleId}
+     */
+    public static final String SCHEDULE_STOCK = PREFIX + "schedule:stock:";
+
+    /**
+     * 待回写数据库的排班库存集合（Set: scheduleId）
+     * 完整 Key: mediask:schedule:stock:dirty
+     */
+    public static final String SCHEDULE_STOCK_DIRTY = PREFIX + "schedule:stock:dirty";
+
+    /**
+     * 排班号源库存冻结标记（String，带过期时间）
+     * 完整 Key: mediask:schedule:stock:frozen:{scheduleId}
+     */
+    public static final String SCHEDULE_STOCK_FROZEN = PREFIX + "schedule:stock:frozen:";
+
+    /**
+     * 排班时段占用位图（String 位图，共 64 位，第 i 位对应第 i 个时段，超出时段数的位恒为 1）
+     * 完整 Key: mediask:schedule:slots:{scheduleId}
+     */
+    public static final String SCHEDULE_SLOT_BITMAP = PREFIX + "schedule:slots:";
+
+    /**
+     * 待对账的时段占用位图集合（Set: scheduleId）
+     * 完整 Key: mediask:schedule:slots:dirty
+     */
+    public static final String SCHEDULE_SLOT_BITMAP_DIRTY = PREFIX + "schedule:slots:dirty";
+
+    /**
+     * 过期排班清理检查点（String: {scheduleDate}|{scheduleId}）
+     * 完整 Key: mediask:schedule:expire:checkpoint
+     */
+    public static final String SCHEDULE_EXPIRE_CHECKPOINT = PREFIX + "schedule:expire:checkpoint";
+
+    /**
+     * 可预约排班列表缓存（Hash: scope -> 排班列表 JSON）
+     * 完整 Key: mediask:schedule:open:{date}:{periodCode}
+     */
+    public static final String SCHEDULE_OPEN_CACHE = PREFIX + "schedule:open:";
+
+    /**
+     * 可预约排班列表失效通知频道（消息: {date}|{periodCode}）
+     */
+    public static final String SCHEDULE_OPEN_CACHE_CHANNEL = PREFIX + "channel:schedule:open";
+
     /**
      * 科室信息缓存
      * 完整 Key: mediask:cache:dept:{deptId}
@@ -77,6 +124,16 @@ public final class RedisKeyConstants {
      */
     public static final String HOSPITAL_CACHE = PREFIX + "cache:hospital:";
 
+    /**
+     * 医院/科室字典变更通知频道（各实例收到后重新加载进程内快照）
+     */
+    public static final String ORG_DICT_CHANNEL = PREFIX + "channel:dict:org";
+
+    /**
+     * 医生目录变更通知频道（消息: {doctorId}，各实例收到后重新加载该医生的目录条目）
+     */
+    public static final String DOCTOR_DIRECTORY_CHANNEL = PREFIX + "channel:doctor:directory";
+
     /**
      * 用户信息缓存
      * 完整 Key: mediask:cache:user:{userId}
@@ -143,6 +200,38 @@ public final class RedisKeyConstants {
      */
     public static final String LOGIN_FAIL_COUNT = PREFIX + "rate:login:";
 
+    // ==================== 排队准入 ====================
+
+    /**
+     * 排队队列（ZSet: userId -> 排队序号）
+     * 完整 Key: mediask:admission:queue:{scope}
+     */
+    public static final String ADMISSION_QUEUE = PREFIX + "admission:queue:";
+
+    /**
+     * 排队序号
+     * 完整 Key: mediask:admission:seq:{scope}
+     */
+    public static final String ADMISSION_SEQ = PREFIX + "admission:seq:";
+
+    /**
+     * 准入凭证
+     * 完整 Key: mediask:admission:pass:{scope}:{userId}
+     */
+    public static final String ADMISSION_PASS = PREFIX + "admission:pass:";
+
+    /**
+     * 每秒准入计数
+     * 完整 Key: mediask:admission:rate:{scope}:{epochSecond}
+     */
+    public static final String ADMISSION_RATE = PREFIX + "admission:rate:";
+
+    /**
+     * 有排队用户的范围集合（Set: scope）
+     * 完整 Key: mediask:admission:scopes
+     */
+    public static final String ADMISSION_SCOPES = PREFIX + "admission:scopes";
+
     // ==================== 幂等性 ====================
 
     /**
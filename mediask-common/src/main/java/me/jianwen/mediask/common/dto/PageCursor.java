@@ -0,0 +1,75 @@
+package me.jianwen.mediask.common.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import lombok.Value;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.common.util.JsonUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标（排序键, ID）
+ * <p>
+ * 编码为 Base64URL 的 JSON 数组 {@code [sortKey, id]}，对调用方不透明。
+ * 排序键可以是任意可 JSON 序列化的类型（数字、字符串、日期时间等），解码时按指定类型还原。
+ * </p>
+ *
+ * @param <C> 排序键类型
+ * @author jianwen
+ */
+@Value
+public class PageCursor<C> {
+
+    /**
+     * 上一页最后一条记录的排序键
+     */
+    C sortKey;
+
+    /**
+     * 上一页最后一条记录的 ID
+     */
+    long id;
+
+    /**
+     * 编码游标
+     *
+     * @param sortKey 排序键
+     * @param id      记录 ID
+     * @return 游标字符串
+     */
+    public static String encode(Object sortKey, long id) {
+        ObjectMapper mapper = JsonUtil.getObjectMapper();
+        ArrayNode node = mapper.createArrayNode();
+        node.add(mapper.valueToTree(sortKey));
+        node.add(id);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor      游标字符串
+     * @param sortKeyType 排序键类型
+     * @return 游标
+     * @throws BizException 游标格式不正确
+     */
+    public static <C> PageCursor<C> decode(String cursor, Class<C> sortKeyType) {
+        try {
+            ObjectMapper mapper = JsonUtil.getObjectMapper();
+            JsonNode node = mapper.readTree(Base64.getUrlDecoder().decode(cursor));
+            if (!node.isArray() || node.size() != 2 || node.get(0).isNull() || !node.get(1).canConvertToLong()) {
+                throw new BizException(ErrorCode.PARAM_INVALID);
+            }
+            return new PageCursor<>(mapper.treeToValue(node.get(0), sortKeyType), node.get(1).asLong());
+        } catch (BizException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BizException(ErrorCode.PARAM_INVALID);
+        }
+    }
+}
@@ -9,7 +9,12 @@ import java.io.Serializable;
 /**
  * 分页请求基类
  * <p>
- * 所有分页查询的 DTO 应继承此类
+ * 所有分页查询的 DTO 应继承此类。支持两种分页方式：
+ * <ul>
+ *     <li>页码分页：使用 current / size，适合页数较少、需要跳页的列表</li>
+ *     <li>游标分页：使用 cursor / size，按（排序键, ID）定位下一页，深翻页不退化，适合挂号、审计日志、AI 消息等长列表</li>
+ * </ul>
+ * 具体使用哪种由查询接口决定，游标分页时忽略 current。
  * </p>
  *
  * @author jianwen
@@ -30,6 +35,16 @@ public class PageDTO implements Serializable {
      */
     private Long size = (long) CommonConstants.DEFAULT_PAGE_SIZE;
 
+    /**
+     * 游标（上一页返回的 nextCursor，不透明字符串），为空表示第一页
+     */
+    private String cursor;
+
+    /**
+     * 游标分页时是否统计总数（仅第一页统计，后续页 total 为空）
+     */
+    private Boolean searchCount = Boolean.FALSE;
+
     /**
      * 获取偏移量
      *
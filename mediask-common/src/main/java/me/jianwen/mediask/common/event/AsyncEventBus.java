@@ -0,0 +1,224 @@
+package me.jianwen.mediask.common.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 进程内异步事件总线
+ * <p>
+ * 发布方把事件写入有界无锁环形缓冲区后立即返回（缓冲区满时按 {@link BackpressurePolicy} 处理，不等待），
+ * 单个消费线程批量取出事件，按类型分发给 {@link BatchEventHandler}，并按处理器的合并 Key 合并同一批中的重复事件。
+ * 空闲时消费线程先自旋、再让出、最后短暂休眠，发布方不需要唤醒消费线程。
+ * </p>
+ * <p>
+ * 只适合丢失后有兜底的进程内通知（缓存失效、指标等），需要可靠投递的事件使用发件箱。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+public class AsyncEventBus implements SmartLifecycle {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 10;
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final EventRingBuffer ringBuffer;
+    private final List<BatchEventHandler<?>> handlers;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int maxBatchSize;
+    private final long maxIdleNanos;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong lastDropLogNanos = new AtomicLong(System.nanoTime() - DROP_LOG_INTERVAL_NANOS);
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    /**
+     * @param capacity           缓冲区容量（2 的幂）
+     * @param maxBatchSize       每批最多取出的事件数
+     * @param maxIdleMillis      空闲时最长休眠时间（毫秒），即空闲后首个事件的最大延迟
+     * @param backpressurePolicy 缓冲区满时的策略
+     * @param handlers           事件处理器
+     */
+    public AsyncEventBus(int capacity, int maxBatchSize, long maxIdleMillis,
+                         BackpressurePolicy backpressurePolicy, List<BatchEventHandler<?>> handlers) {
+        this.ringBuffer = new EventRingBuffer(capacity);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, maxIdleMillis));
+        this.backpressurePolicy = backpressurePolicy;
+        this.handlers = List.copyOf(handlers);
+    }
+
+    /**
+     * 发布事件（不阻塞）
+     *
+     * @return 是否已进入缓冲区或已由发布方线程处理；DROP 策略下缓冲区满时返回 false
+     */
+    public boolean publish(Object event) {
+        if (event == null) {
+            return false;
+        }
+        if (ringBuffer.offer(event)) {
+            published.incrementAndGet();
+            return true;
+        }
+        if (backpressurePolicy == BackpressurePolicy.CALLER_RUNS) {
+            published.incrementAndGet();
+            dispatch(List.of(event), false);
+            return true;
+        }
+        onDropped(event);
+        return false;
+    }
+
+    /**
+     * 已发布的事件数
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * 因缓冲区满而丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 当前积压的事件数（近似值）
+     */
+    public int getBacklog() {
+        return ringBuffer.size();
+    }
+
+    public int getCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::consumeLoop, "async-event-bus");
+        consumer.setDaemon(true);
+        consumer.start();
+        log.info("异步事件总线已启动: capacity={}, maxBatchSize={}, backpressure={}, handlers={}",
+                ringBuffer.capacity(), maxBatchSize, backpressurePolicy, handlers.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("异步事件总线已停止: published={}, dropped={}", published.get(), dropped.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consumeLoop() {
+        List<Object> batch = new ArrayList<>(maxBatchSize);
+        int idle = 0;
+        while (running || ringBuffer.size() > 0) {
+            if (ringBuffer.drainTo(batch, maxBatchSize) > 0) {
+                dispatch(batch, true);
+                batch.clear();
+                idle = 0;
+                continue;
+            }
+            if (!running) {
+                break;
+            }
+            idle++;
+            if (idle <= SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idle <= SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(maxIdleNanos);
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void dispatch(List<Object> batch, boolean coalesce) {
+        for (BatchEventHandler handler : handlers) {
+            List<Object> matched = new ArrayList<>();
+            for (Object event : batch) {
+                if (handler.eventType().isInstance(event)) {
+                    matched.add(event);
+                }
+            }
+            if (matched.isEmpty()) {
+                continue;
+            }
+            try {
+                handler.onBatch(coalesce ? coalesce(handler, matched) : matched);
+            } catch (Exception e) {
+                log.warn("事件处理失败: handler={}, events={}", handler.getClass().getSimpleName(), matched.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 合并 Key 相同的事件：按处理器的合并规则合并，位置取第一次出现处
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Object> coalesce(BatchEventHandler handler, List<Object> events) {
+        if (events.size() == 1) {
+            return events;
+        }
+        Map<Object, Object> merged = new LinkedHashMap<>();
+        for (Object event : events) {
+            Object key = handler.coalesceKey(event);
+            // 不合并的事件以自身为 Key（按引用区分）
+            merged.merge(key != null ? key : new IdentityKey(event), event, handler::merge);
+        }
+        return merged.size() == events.size() ? events : new ArrayList<>(merged.values());
+    }
+
+    private void onDropped(Object event) {
+        long total = dropped.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastDropLogNanos.get();
+        if (now - last >= DROP_LOG_INTERVAL_NANOS && lastDropLogNanos.compareAndSet(last, now)) {
+            log.warn("异步事件总线已满，丢弃事件: type={}, totalDropped={}", event.getClass().getSimpleName(), total);
+        }
+    }
+
+    private record IdentityKey(Object event) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey other && other.event == event;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(event);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package me.jianwen.mediask.common.event;
+
+/**
+ * 事件总线环形缓冲区满时的处理策略
+ * <p>
+ * 两种策略都不会让发布方等待缓冲区腾出空间。
+ * </p>
+ *
+ * @author jianwen
+ */
+public enum BackpressurePolicy {
+
+    /**
+     * 丢弃新事件并计数（默认），适合缓存失效、指标等可由有效期或定时任务兜底的通知
+     */
+    DROP,
+
+    /**
+     * 在发布方线程直接执行处理器（不合并），事件不丢失但会占用发布方线程；
+     * 处理器需能与消费线程并发执行
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,42 @@
+package me.jianwen.mediask.common.event;
+
+import java.util.List;
+
+/**
+ * 批量事件处理器
+ * <p>
+ * 注册为 Spring Bean 后自动接入 {@link AsyncEventBus}。消费线程每次取出一批事件，
+ * 按类型筛选后调用 {@link #onBatch}；{@link #coalesceKey} 返回非空时，同一批中 Key 相同的事件
+ * 通过 {@link #merge} 合并为一个（默认保留最后一个）。
+ * 处理器在单个消费线程中顺序执行，应避免长时间阻塞。
+ * </p>
+ *
+ * @param <E> 事件类型
+ * @author jianwen
+ */
+public interface BatchEventHandler<E> {
+
+    /**
+     * 处理的事件类型（含子类）
+     */
+    Class<E> eventType();
+
+    /**
+     * 处理一批事件（按发布顺序，已合并）
+     */
+    void onBatch(List<E> events);
+
+    /**
+     * 合并 Key，返回 null 表示不合并（默认）
+     */
+    default Object coalesceKey(E event) {
+        return null;
+    }
+
+    /**
+     * 合并两个 Key 相同的事件（previous 先发布）
+     */
+    default E merge(E previous, E next) {
+        return next;
+    }
+}
@@ -0,0 +1,37 @@
+package me.jianwen.mediask.common.event.config;
+
+import me.jianwen.mediask.common.event.AsyncEventBus;
+import me.jianwen.mediask.common.event.BatchEventHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 异步事件总线自动配置类
+ * <p>
+ * 收集容器中所有 {@link BatchEventHandler} 注册到总线，总线随容器启动和关闭。
+ * 生效条件：配置 mediask.event-bus.enabled=true（默认开启）
+ * </p>
+ *
+ * @author jianwen
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "mediask.event-bus", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AsyncEventBusProperties.class)
+public class AsyncEventBusAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncEventBus asyncEventBus(AsyncEventBusProperties properties,
+                                       ObjectProvider<BatchEventHandler<?>> handlers) {
+        return new AsyncEventBus(
+                properties.getCapacity(),
+                properties.getMaxBatchSize(),
+                properties.getMaxIdleMillis(),
+                properties.getBackpressure(),
+                handlers.orderedStream().toList());
+    }
+}
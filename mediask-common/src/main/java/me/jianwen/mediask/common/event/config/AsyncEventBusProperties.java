@@ -0,0 +1,54 @@
+package me.jianwen.mediask.common.event.config;
+
+import lombok.Data;
+import me.jianwen.mediask.common.event.BackpressurePolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 异步事件总线配置属性
+ * <p>
+ * 配置前缀：mediask.event-bus
+ * 使用示例（application.yml）：
+ *
+ * <pre>
+ * mediask:
+ *   event-bus:
+ *     enabled: true
+ *     capacity: 8192
+ *     max-batch-size: 256
+ *     max-idle-millis: 1
+ *     backpressure: DROP
+ * </pre>
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@ConfigurationProperties(prefix = "mediask.event-bus")
+public class AsyncEventBusProperties {
+
+    /**
+     * 是否启用异步事件总线
+     */
+    private boolean enabled = true;
+
+    /**
+     * 环形缓冲区容量（2 的幂）
+     */
+    private int capacity = 8192;
+
+    /**
+     * 每批最多取出的事件数
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * 空闲时消费线程最长休眠时间（毫秒）
+     */
+    private long maxIdleMillis = 1;
+
+    /**
+     * 缓冲区满时的策略
+     */
+    private BackpressurePolicy backpressure = BackpressurePolicy.DROP;
+}
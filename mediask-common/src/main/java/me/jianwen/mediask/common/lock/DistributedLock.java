@@ -70,6 +70,20 @@ public interface DistributedLock extends AutoCloseable {
      */
     boolean isHeldByCurrentThread();
 
+    /**
+     * 获取本次持有的防护令牌（fencing token）
+     * <p>
+     * 仅 {@link DistributedLockFactory#createFencedLock} 创建的锁在获取成功后返回令牌，
+     * 令牌随每次获取单调递增；写操作带上令牌，由存储层拒绝比已写入令牌更小的请求，
+     * 这样租约过期后仍在执行的旧持有者（如 GC 停顿）无法覆盖新持有者的写入
+     * </p>
+     *
+     * @return 防护令牌，未持有或不支持时返回 null
+     */
+    default Long getFencingToken() {
+        return null;
+    }
+
     /**
      * 获取锁键名（用于调试）
      * <p>
@@ -1,5 +1,6 @@
 package me.jianwen.mediask.common.lock;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -71,4 +72,29 @@ public interface DistributedLockFactory {
      * @return 写锁实例
      */
     DistributedLock createWriteLock(String lockKey);
+
+    /**
+     * 创建带防护令牌的锁
+     * <p>
+     * 场景：缩短租约以降低持有者宕机后的等待，同时由存储层校验令牌保证正确性
+     * 获取成功后通过 {@link DistributedLock#getFencingToken()} 取得本次令牌
+     * </p>
+     *
+     * @param lockKey 锁键
+     * @return 防护锁实例
+     */
+    DistributedLock createFencedLock(String lockKey);
+
+    /**
+     * 创建联锁（同时持有多个锁键）
+     * <p>
+     * 场景：批量操作需要同时锁定多个资源（如批量停诊、多号源预留）
+     * 锁键去重后按字典序排列再获取，任意两个联锁的获取顺序一致，不会互相死锁；
+     * 全部获取成功才算成功，任一失败时释放已获取的部分
+     * </p>
+     *
+     * @param lockKeys 锁键集合（不能为空）
+     * @return 联锁实例
+     */
+    DistributedLock createMultiLock(Collection<String> lockKeys);
 }
@@ -6,6 +6,7 @@ import me.jianwen.mediask.common.constant.LockKeys;
 import me.jianwen.mediask.common.lock.annotation.DistributedLockable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -185,6 +186,17 @@ public class DistributedLockUsageExample {
         // FIFO 保证先到先得
     }
 
+    /**
+     * 示例12：集合锁键（联锁）
+     * <p>
+     * 锁键去重排序后一起获取，全部成功才执行，避免逐个加锁时的死锁
+     * </p>
+     */
+    @DistributedLockable(key = "#scheduleIds.![ 'appt:refresh:' + #this ]", waitTime = 5, leaseTime = 60)
+    public void example12_MultiLock_Annotation(List<Long> scheduleIds) {
+        log.info("批量停诊: scheduleIds={}", scheduleIds);
+    }
+
     // ==================== 模拟业务方法 ====================
 
     private void decreaseSlots(Long scheduleId) {
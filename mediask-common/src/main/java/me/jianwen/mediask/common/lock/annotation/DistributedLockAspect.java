@@ -6,6 +6,7 @@ import me.jianwen.mediask.common.lock.DistributedLock;
 import me.jianwen.mediask.common.lock.DistributedLockFactory;
 import me.jianwen.mediask.common.lock.config.DistributedLockProperties;
 import me.jianwen.mediask.common.lock.exception.LockTimeoutException;
+import me.jianwen.mediask.common.lock.metrics.LockMetrics;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -15,11 +16,18 @@ import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,11 +35,16 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * 职责：拦截 @DistributedLockable 注解的方法，自动加锁和解锁
  * 实现原理：
- * 1. 解析 SpEL 表达式生成锁键
+ * 1. 解析 SpEL 表达式生成锁键（结果为集合时创建联锁）
  * 2. 尝试获取锁
  * 3. 获取成功：执行业务方法
  * 4. 获取失败：根据策略返回或抛异常
  * 5. finally：释放锁
+ * 获取耗时、持有时间由锁实现记录，切面额外记录失败策略的执行结果（lock.fail.strategy）
+ * </p>
+ * <p>
+ * 锁键表达式按方法只解析一次（同时缓存参数名），求值使用只读的 {@link SimpleEvaluationContext}，
+ * 表达式以 MIXED 模式编译为字节码，热点方法多次调用后不再走解释执行。
  * </p>
  *
  * @author jianwen
@@ -45,24 +58,36 @@ public class DistributedLockAspect {
 
     private final DistributedLockFactory lockFactory;
     private final DistributedLockProperties properties;
+    private final LockMetrics lockMetrics;
 
     /**
-     * SpEL 表达式解析器
+     * SpEL 表达式解析器（MIXED：多次求值后编译，编译失败时回退解释执行）
      */
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, DistributedLockAspect.class.getClassLoader()));
 
     /**
      * 参数名发现器（用于 SpEL 表达式）
      */
     private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+    /**
+     * 按方法缓存的锁键模板
+     */
+    private final Map<Method, LockKeyTemplate> keyTemplates = new ConcurrentHashMap<>();
+
     /**
      * 环绕通知：拦截 @DistributedLockable 注解的方法
      */
     @Around("@annotation(distributedLockable)")
     public Object around(ProceedingJoinPoint joinPoint, DistributedLockable distributedLockable) throws Throwable {
-        // 1. 解析锁键（支持 SpEL 表达式）
-        String lockKey = parseLockKey(distributedLockable.key(), joinPoint);
+        // 1. 解析锁键（支持 SpEL 表达式，集合结果创建联锁）
+        Object keyValue = parseLockKey(distributedLockable.key(), joinPoint);
+        List<String> multiKeys = toKeyList(keyValue);
+        if (multiKeys != null && multiKeys.isEmpty()) {
+            log.debug("锁键集合为空，不加锁: method={}", joinPoint.getSignature().toShortString());
+            return joinPoint.proceed();
+        }
 
         // 2. 获取超时配置
         long waitTime = distributedLockable.waitTime() == -1
@@ -76,9 +101,16 @@ public class DistributedLockAspect {
         TimeUnit timeUnit = distributedLockable.timeUnit();
 
         // 3. 创建锁实例
-        DistributedLock lock = distributedLockable.fairLock()
-                ? lockFactory.createFairLock(lockKey)
-                : lockFactory.createLock(lockKey, leaseTime, timeUnit);
+        DistributedLock lock;
+        if (multiKeys != null) {
+            lock = lockFactory.createMultiLock(multiKeys);
+        } else {
+            String key = keyValue.toString();
+            lock = distributedLockable.fairLock()
+                    ? lockFactory.createFairLock(key)
+                    : lockFactory.createLock(key, leaseTime, timeUnit);
+        }
+        String lockKey = lock.getLockKey();
 
         // 4. 尝试获取锁
         boolean acquired = false;
@@ -110,32 +142,34 @@ public class DistributedLockAspect {
      *
      * @param keyExpression SpEL 表达式
      * @param joinPoint     连接点
-     * @return 解析后的锁键
+     * @return 解析后的锁键（表达式结果为集合或数组时原样返回）
      */
-    private String parseLockKey(String keyExpression, ProceedingJoinPoint joinPoint) {
+    private Object parseLockKey(String keyExpression, ProceedingJoinPoint joinPoint) {
         // 如果不包含 SpEL 表达式标识符，直接返回
         if (!keyExpression.contains("#") && !keyExpression.contains("'")) {
             return keyExpression;
         }
 
         try {
-            // 构建 SpEL 上下文
-            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-            Method method = signature.getMethod();
-            String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            LockKeyTemplate template = keyTemplates.computeIfAbsent(method, m -> compile(m, keyExpression));
+
+            // 构建 SpEL 上下文（只读：只允许读取属性和调用实例方法，不允许类型引用和构造对象）
+            EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding()
+                    .withInstanceMethods()
+                    .build();
+            String[] parameterNames = template.parameterNames();
             Object[] args = joinPoint.getArgs();
-
-            EvaluationContext context = new StandardEvaluationContext();
             if (parameterNames != null) {
                 for (int i = 0; i < parameterNames.length; i++) {
                     context.setVariable(parameterNames[i], args[i]);
                 }
             }
 
-            // 解析表达式
-            Expression expression = parser.parseExpression(keyExpression);
-            Object value = expression.getValue(context);
-
+            Object value = template.expression().getValue(context);
+            if (value instanceof Collection<?> || value instanceof Object[]) {
+                return value;
+            }
             return value != null ? value.toString() : keyExpression;
 
         } catch (Exception e) {
@@ -144,6 +178,32 @@ public class DistributedLockAspect {
         }
     }
 
+    /**
+     * 集合或数组锁键转为字符串列表（忽略 null 元素），单个锁键返回 null
+     */
+    private static List<String> toKeyList(Object keyValue) {
+        Collection<?> values;
+        if (keyValue instanceof Collection<?> collection) {
+            values = collection;
+        } else if (keyValue instanceof Object[] array) {
+            values = List.of(array);
+        } else {
+            return null;
+        }
+        List<String> keys = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value != null) {
+                keys.add(value.toString());
+            }
+        }
+        return keys;
+    }
+
+    private LockKeyTemplate compile(Method method, String keyExpression) {
+        return new LockKeyTemplate(parser.parseExpression(keyExpression),
+                parameterNameDiscoverer.getParameterNames(method));
+    }
+
     /**
      * 处理获取锁失败的情况
      *
@@ -163,6 +223,8 @@ public class DistributedLockAspect {
         log.warn("获取分布式锁失败: lockKey={}, waitTime={}ms, strategy={}",
                 lockKey, timeoutMs, annotation.failStrategy());
 
+        lockMetrics.forKey(lockKey).recordFailStrategy(annotation.failStrategy().name());
+
         switch (annotation.failStrategy()) {
             case THROW_EXCEPTION:
                 throw new LockTimeoutException(lockKey, timeoutMs);
@@ -174,4 +236,10 @@ public class DistributedLockAspect {
                 throw new LockTimeoutException(lockKey, timeoutMs);
         }
     }
+
+    /**
+     * 已解析的锁键表达式和方法参数名
+     */
+    private record LockKeyTemplate(Expression expression, String[] parameterNames) {
+    }
 }
@@ -32,6 +32,10 @@ import java.util.concurrent.TimeUnit;
  *     leaseTime = 60
  * )
  * public void processPayment(String orderId) { ... }
+ *
+ * // 5. 集合锁键（联锁：同时锁定多个资源）
+ * {@literal @}DistributedLockable(key = "#scheduleIds.![ 'appt:refresh:' + #this ]")
+ * public void closeSchedules(List&lt;Long&gt; scheduleIds) { ... }
  * </pre>
  * </p>
  *
@@ -51,6 +55,9 @@ public @interface DistributedLockable {
      * - 参数值："'appt:' + #dto.scheduleId"
      * - 对象属性："'user:' + #user.id"
      * - 多参数："'order:' + #userId + ':' + #productId"
+     * - 集合（联锁）："#ids.![ 'appt:refresh:' + #this ]"
+     * 表达式结果为集合或数组时，按元素创建联锁（见 DistributedLockFactory#createMultiLock），
+     * 此时忽略 fairLock；集合为空时不加锁直接执行
      * </p>
      */
     String key();
@@ -1,10 +1,13 @@
 package me.jianwen.mediask.common.lock.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.jianwen.mediask.common.lock.DistributedLockFactory;
 import me.jianwen.mediask.common.lock.impl.RedissonLockFactory;
+import me.jianwen.mediask.common.lock.metrics.LockMetrics;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -34,6 +37,23 @@ public class DistributedLockAutoConfiguration {
 
     private final DistributedLockProperties properties;
 
+    /**
+     * 锁指标
+     * <p>
+     * 配置 mediask.lock.enable-metrics=true 且存在 MeterRegistry 时采集，否则不记录
+     * </p>
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LockMetrics lockMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = properties.isEnableMetrics() ? meterRegistry.getIfAvailable() : null;
+        if (registry == null) {
+            return LockMetrics.NOOP;
+        }
+        log.info("启用分布式锁指标: lock.acquire / lock.hold / lock.fail.strategy");
+        return new LockMetrics(registry, properties.getKeyPrefix());
+    }
+
     /**
      * 注册分布式锁工厂
      * <p>
@@ -42,14 +62,14 @@ public class DistributedLockAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public DistributedLockFactory distributedLockFactory(RedissonClient redissonClient) {
+    public DistributedLockFactory distributedLockFactory(RedissonClient redissonClient, LockMetrics lockMetrics) {
         log.info("初始化分布式锁工厂: keyPrefix={}, defaultWaitTime={}s, defaultLeaseTime={}s, useFairLock={}",
                 properties.getKeyPrefix(),
                 properties.getDefaultWaitTime(),
                 properties.getDefaultLeaseTime(),
                 properties.isUseFairLock());
 
-        return new RedissonLockFactory(redissonClient, properties);
+        return new RedissonLockFactory(redissonClient, properties, lockMetrics);
     }
 
     /**
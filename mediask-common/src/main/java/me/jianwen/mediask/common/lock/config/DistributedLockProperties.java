@@ -73,8 +73,17 @@ public class DistributedLockProperties {
 
     /**
      * 是否启用锁性能监控
-     * 说明：记录锁获取成功率、平均等待时间等指标
+     * 说明：存在 MeterRegistry 时记录获取耗时（成功/超时/异常）、持有时间和失败策略结果，
+     *       按锁键定义打标签（见 LockMetrics）
      * 默认：false（避免影响性能）
      */
     private boolean enableMetrics = false;
+
+    /**
+     * 是否启用本地前置锁
+     * 说明：同一节点内争抢同一锁键的线程先在本地按键锁上排队，只有本地胜出的线程才竞争 Redis 锁，
+     *       热点锁键的 Redis 请求从每线程一份降为每节点一份；不同锁键互不影响；仅对可重入锁生效
+     * 默认：false
+     */
+    private boolean localPreLock = false;
 }
@@ -0,0 +1,33 @@
+package me.jianwen.mediask.common.lock.exception;
+
+/**
+ * 防护令牌过期异常
+ * <p>
+ * 场景：持有者的租约已过期（如 GC 停顿、网络分区），锁已被其他持有者以更大的令牌获取，
+ * 旧持有者带着较小的令牌写入时被存储层拒绝
+ * 处理建议：
+ * 1. 放弃本次操作并回滚事务（新持有者的写入为准）
+ * 2. 频繁出现时说明租约过短或锁内操作过慢
+ * </p>
+ *
+ * @author jianwen
+ */
+public class LockFencingException extends LockException {
+
+    private final String lockKey;
+    private final long fencingToken;
+
+    public LockFencingException(String lockKey, long fencingToken) {
+        super(String.format("防护令牌已过期，拒绝写入: lockKey=%s, token=%d", lockKey, fencingToken));
+        this.lockKey = lockKey;
+        this.fencingToken = fencingToken;
+    }
+
+    public String getLockKey() {
+        return lockKey;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+}
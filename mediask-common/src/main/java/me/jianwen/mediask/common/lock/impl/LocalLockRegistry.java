@@ -0,0 +1,54 @@
+package me.jianwen.mediask.common.lock.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地按键锁注册表
+ * <p>
+ * 每个锁键对应一把独立的 {@link ReentrantLock}，用作分布式锁的本地前置锁，不同锁键互不排队。
+ * 锁按引用计数管理：持有者和等待者各占一个引用，引用归零时移除，锁键数量不会无限增长。
+ * 每次 {@link #retain(String)} 必须对应一次 {@link #release(String)}。
+ * </p>
+ *
+ * @author jianwen
+ */
+public class LocalLockRegistry {
+
+    private final ConcurrentHashMap<String, Entry> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 获取锁键对应的本地锁并增加引用
+     */
+    public ReentrantLock retain(String lockKey) {
+        return locks.compute(lockKey, (key, entry) -> {
+            Entry target = entry == null ? new Entry() : entry;
+            target.refs++;
+            return target;
+        }).lock;
+    }
+
+    /**
+     * 释放一个引用，引用归零时移除本地锁
+     */
+    public void release(String lockKey) {
+        locks.computeIfPresent(lockKey, (key, entry) -> --entry.refs == 0 ? null : entry);
+    }
+
+    /**
+     * 当前被引用的锁键数
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    private static final class Entry {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 引用数（仅在 compute 回调内修改）
+         */
+        private int refs;
+    }
+}
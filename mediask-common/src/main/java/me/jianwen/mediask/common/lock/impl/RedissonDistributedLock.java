@@ -3,6 +3,9 @@ package me.jianwen.mediask.common.lock.impl;
 import lombok.extern.slf4j.Slf4j;
 import me.jianwen.mediask.common.lock.DistributedLock;
 import me.jianwen.mediask.common.lock.exception.LockException;
+import me.jianwen.mediask.common.lock.metrics.LockMetrics;
+import me.jianwen.mediask.common.lock.metrics.LockMetrics.LockMeters;
+import org.redisson.api.RFencedLock;
 import org.redisson.api.RLock;
 
 import java.util.concurrent.TimeUnit;
@@ -15,6 +18,8 @@ import java.util.concurrent.TimeUnit;
  * 1. 支持可重入（同一线程可多次获取同一把锁）
  * 2. 看门狗机制（自动续期，防止业务执行时间过长导致锁提前释放）
  * 3. Lua 脚本保证原子性（获取锁和释放锁都是原子操作）
+ * 4. 记录获取耗时、超时和持有时间指标（见 {@link LockMetrics}）
+ * 5. 底层为 {@link RFencedLock} 时，获取锁的同一脚本内递增并返回防护令牌
  * </p>
  *
  * @author jianwen
@@ -39,20 +44,45 @@ public class RedissonDistributedLock implements DistributedLock {
      */
     private final long defaultLeaseTime;
 
+    /**
+     * 锁指标
+     */
+    private final LockMeters meters;
+
+    /**
+     * 本实例的重入次数和首次获取时间（锁实例按调用创建，只在持有线程内访问）
+     */
+    private int holdCount;
+    private long acquiredAtNanos;
+
+    /**
+     * 本次持有的防护令牌（首次获取时签发，完全释放后清空）
+     */
+    private Long fencingToken;
+
     public RedissonDistributedLock(RLock rLock, String lockKey) {
         this(rLock, lockKey, -1);
     }
 
     public RedissonDistributedLock(RLock rLock, String lockKey, long defaultLeaseTime) {
+        this(rLock, lockKey, defaultLeaseTime, LockMetrics.NOOP.forKey(lockKey));
+    }
+
+    public RedissonDistributedLock(RLock rLock, String lockKey, long defaultLeaseTime, LockMeters meters) {
         this.rLock = rLock;
         this.lockKey = lockKey;
         this.defaultLeaseTime = defaultLeaseTime;
+        this.meters = meters;
     }
 
     @Override
     public boolean tryLock() {
+        long start = System.nanoTime();
         try {
-            boolean acquired = rLock.tryLock();
+            boolean acquired = rLock instanceof RFencedLock fenced
+                    ? acceptToken(fenced.tryLockAndGetToken())
+                    : rLock.tryLock();
+            recordAcquire(acquired, start);
             if (acquired) {
                 log.debug("获取分布式锁成功: lockKey={}", lockKey);
             } else {
@@ -60,6 +90,7 @@ public class RedissonDistributedLock implements DistributedLock {
             }
             return acquired;
         } catch (Exception e) {
+            meters.recordError(System.nanoTime() - start);
             log.error("获取分布式锁异常: lockKey={}", lockKey, e);
             throw new LockException("获取锁失败: " + lockKey, e);
         }
@@ -72,8 +103,12 @@ public class RedissonDistributedLock implements DistributedLock {
 
     @Override
     public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit) {
+        long start = System.nanoTime();
         try {
-            boolean acquired = rLock.tryLock(waitTime, leaseTime, unit);
+            boolean acquired = rLock instanceof RFencedLock fenced
+                    ? acceptToken(fenced.tryLockAndGetToken(waitTime, leaseTime, unit))
+                    : rLock.tryLock(waitTime, leaseTime, unit);
+            recordAcquire(acquired, start);
             if (acquired) {
                 log.debug("获取分布式锁成功: lockKey={}, waitTime={}ms, leaseTime={}s",
                         lockKey, unit.toMillis(waitTime), unit.toSeconds(leaseTime));
@@ -84,9 +119,11 @@ public class RedissonDistributedLock implements DistributedLock {
             return acquired;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            meters.recordError(System.nanoTime() - start);
             log.error("获取分布式锁被中断: lockKey={}", lockKey, e);
             throw new LockException("获取锁被中断: " + lockKey, e);
         } catch (Exception e) {
+            meters.recordError(System.nanoTime() - start);
             log.error("获取分布式锁异常: lockKey={}", lockKey, e);
             throw new LockException("获取锁失败: " + lockKey, e);
         }
@@ -98,6 +135,7 @@ public class RedissonDistributedLock implements DistributedLock {
             // 只有持有锁的线程才能释放
             if (rLock.isHeldByCurrentThread()) {
                 rLock.unlock();
+                recordRelease();
                 log.debug("释放分布式锁成功: lockKey={}", lockKey);
             } else {
                 log.warn("尝试释放未持有的锁: lockKey={}, currentThread={}",
@@ -110,11 +148,48 @@ public class RedissonDistributedLock implements DistributedLock {
         }
     }
 
+    /**
+     * 记录签发的令牌（重入时沿用首次获取的令牌）
+     */
+    private boolean acceptToken(Long token) {
+        if (token == null) {
+            return false;
+        }
+        if (holdCount == 0) {
+            fencingToken = token;
+        }
+        return true;
+    }
+
+    private void recordAcquire(boolean acquired, long start) {
+        long now = System.nanoTime();
+        if (!acquired) {
+            meters.recordTimeout(now - start);
+            return;
+        }
+        meters.recordAcquired(now - start);
+        if (holdCount++ == 0) {
+            acquiredAtNanos = now;
+        }
+    }
+
+    private void recordRelease() {
+        if (holdCount > 0 && --holdCount == 0) {
+            meters.recordHold(System.nanoTime() - acquiredAtNanos);
+            fencingToken = null;
+        }
+    }
+
     @Override
     public boolean isHeldByCurrentThread() {
         return rLock.isHeldByCurrentThread();
     }
 
+    @Override
+    public Long getFencingToken() {
+        return fencingToken;
+    }
+
     @Override
     public String getLockKey() {
         return lockKey;
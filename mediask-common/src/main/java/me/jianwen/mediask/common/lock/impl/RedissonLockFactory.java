@@ -1,15 +1,19 @@
 package me.jianwen.mediask.common.lock.impl;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.jianwen.mediask.common.lock.DistributedLock;
 import me.jianwen.mediask.common.lock.DistributedLockFactory;
 import me.jianwen.mediask.common.lock.config.DistributedLockProperties;
+import me.jianwen.mediask.common.lock.metrics.LockMetrics;
+import org.redisson.api.RFencedLock;
 import org.redisson.api.RLock;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -21,25 +25,47 @@ import java.util.concurrent.TimeUnit;
  * 2. 公平锁（FIFO）
  * 3. 读写锁（ReadWriteLock）
  * 4. 红锁（RedLock，多 Redis 实例）
+ * 5. 联锁（MultiLock，多个锁键同时持有）
+ * 6. 防护锁（FencedLock，获取时签发单调递增令牌）
+ * 开启 local-pre-lock 后，可重入锁和防护锁包装为 {@link HierarchicalDistributedLock}（本地按键锁 + Redisson 锁），
+ * 公平锁和读写锁不受影响（本地排队会破坏跨节点的 FIFO 和读锁并发）
  * </p>
  *
  * @author jianwen
  * @since 2025-12-14
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RedissonLockFactory implements DistributedLockFactory {
 
     private final RedissonClient redissonClient;
     private final DistributedLockProperties properties;
+    private final LockMetrics lockMetrics;
+    private final LocalLockRegistry localLocks;
+
+    public RedissonLockFactory(RedissonClient redissonClient, DistributedLockProperties properties) {
+        this(redissonClient, properties, LockMetrics.NOOP);
+    }
+
+    @Autowired
+    public RedissonLockFactory(RedissonClient redissonClient, DistributedLockProperties properties,
+                               LockMetrics lockMetrics) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.lockMetrics = lockMetrics;
+        this.localLocks = properties.isLocalPreLock() ? new LocalLockRegistry() : null;
+        if (localLocks != null) {
+            log.info("启用本地前置锁");
+        }
+    }
 
     @Override
     public DistributedLock createLock(String lockKey) {
         String fullKey = buildFullKey(lockKey);
         RLock rLock = redissonClient.getLock(fullKey);
         log.debug("创建分布式锁: lockKey={}", fullKey);
-        return new RedissonDistributedLock(rLock, fullKey, properties.getDefaultLeaseTime());
+        return withLocalPreLock(new RedissonDistributedLock(rLock, fullKey, properties.getDefaultLeaseTime(),
+                lockMetrics.forKey(fullKey)), properties.getDefaultLeaseTime());
     }
 
     @Override
@@ -48,7 +74,8 @@ public class RedissonLockFactory implements DistributedLockFactory {
         RLock rLock = redissonClient.getLock(fullKey);
         long leaseTimeSeconds = unit.toSeconds(defaultLeaseTime);
         log.debug("创建分布式锁（自定义租约）: lockKey={}, leaseTime={}s", fullKey, leaseTimeSeconds);
-        return new RedissonDistributedLock(rLock, fullKey, leaseTimeSeconds);
+        return withLocalPreLock(new RedissonDistributedLock(rLock, fullKey, leaseTimeSeconds,
+                lockMetrics.forKey(fullKey)), leaseTimeSeconds);
     }
 
     @Override
@@ -56,7 +83,7 @@ public class RedissonLockFactory implements DistributedLockFactory {
         String fullKey = buildFullKey(lockKey);
         RLock fairLock = redissonClient.getFairLock(fullKey);
         log.debug("创建公平锁: lockKey={}", fullKey);
-        return new RedissonDistributedLock(fairLock, fullKey, properties.getDefaultLeaseTime());
+        return new RedissonDistributedLock(fairLock, fullKey, properties.getDefaultLeaseTime(), lockMetrics.forKey(fullKey));
     }
 
     @Override
@@ -65,7 +92,8 @@ public class RedissonLockFactory implements DistributedLockFactory {
         RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(fullKey);
         RLock readLock = readWriteLock.readLock();
         log.debug("创建读锁: lockKey={}", fullKey);
-        return new RedissonDistributedLock(readLock, fullKey + ":read", properties.getDefaultLeaseTime());
+        return new RedissonDistributedLock(readLock, fullKey + ":read", properties.getDefaultLeaseTime(),
+                lockMetrics.forKey(fullKey));
     }
 
     @Override
@@ -74,7 +102,54 @@ public class RedissonLockFactory implements DistributedLockFactory {
         RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(fullKey);
         RLock writeLock = readWriteLock.writeLock();
         log.debug("创建写锁: lockKey={}", fullKey);
-        return new RedissonDistributedLock(writeLock, fullKey + ":write", properties.getDefaultLeaseTime());
+        return new RedissonDistributedLock(writeLock, fullKey + ":write", properties.getDefaultLeaseTime(),
+                lockMetrics.forKey(fullKey));
+    }
+
+    @Override
+    public DistributedLock createFencedLock(String lockKey) {
+        String fullKey = buildFullKey(lockKey);
+        RFencedLock fencedLock = redissonClient.getFencedLock(fullKey);
+        log.debug("创建防护锁: lockKey={}", fullKey);
+        return withLocalPreLock(new RedissonDistributedLock(fencedLock, fullKey, properties.getDefaultLeaseTime(),
+                lockMetrics.forKey(fullKey)), properties.getDefaultLeaseTime());
+    }
+
+    @Override
+    public DistributedLock createMultiLock(Collection<String> lockKeys) {
+        if (lockKeys == null || lockKeys.isEmpty()) {
+            throw new IllegalArgumentException("lockKeys 不能为空");
+        }
+        // 去重并排序，保证所有联锁以相同顺序获取
+        TreeSet<String> fullKeys = new TreeSet<>();
+        for (String lockKey : lockKeys) {
+            fullKeys.add(buildFullKey(lockKey));
+        }
+        RLock[] locks = new RLock[fullKeys.size()];
+        int i = 0;
+        for (String fullKey : fullKeys) {
+            locks[i++] = redissonClient.getLock(fullKey);
+        }
+        String first = fullKeys.first();
+        String displayKey = fullKeys.size() == 1 ? first : first + "(+" + (fullKeys.size() - 1) + ")";
+        log.debug("创建联锁: lockKeys={}", fullKeys);
+        return new RedissonDistributedLock(redissonClient.getMultiLock(locks), displayKey,
+                properties.getDefaultLeaseTime(), lockMetrics.forKey(first));
+    }
+
+    /**
+     * 开启本地前置锁时包装为分层锁
+     *
+     * @param lock             Redisson 锁
+     * @param defaultLeaseTime 默认租约时间（秒）
+     */
+    private DistributedLock withLocalPreLock(RedissonDistributedLock lock, long defaultLeaseTime) {
+        if (localLocks == null) {
+            return lock;
+        }
+        String fullKey = lock.getLockKey();
+        return new HierarchicalDistributedLock(localLocks, lock, defaultLeaseTime,
+                lockMetrics.forKey(fullKey));
     }
 
     /**
@@ -84,7 +159,7 @@ public class RedissonLockFactory implements DistributedLockFactory {
      * @return 完整锁键
      */
     private String buildFullKey(String lockKey) {
-        if (lockKey == null || lockKey.trim().isEmpty()) {
+        if (lockKey == null || lockKey.isBlank()) {
             throw new IllegalArgumentException("lockKey 不能为空");
         }
         return properties.getKeyPrefix() + lockKey;
@@ -0,0 +1,162 @@
+package me.jianwen.mediask.common.lock.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.jianwen.mediask.common.constant.LockKeys;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁指标
+ * <p>
+ * 按锁键定义（{@link LockKeys}）和分类打标签，不使用完整锁键，标签基数固定：
+ * <ul>
+ *     <li>lock.acquire：获取锁耗时（等待时间），result=acquired / timeout / error</li>
+ *     <li>lock.hold：持有时间（获取成功到释放）</li>
+ *     <li>lock.fail.strategy：注解式锁获取失败后的处理结果，strategy=THROW_EXCEPTION / RETURN_NULL / RETURN_FALSE</li>
+ * </ul>
+ * 无法识别的锁键归入 lock=OTHER。对比同一锁的 acquire 与 hold 可以区分"排队久"和"占用久"。
+ * </p>
+ *
+ * @author jianwen
+ */
+public class LockMetrics {
+
+    /**
+     * 不采集指标（未启用或没有 MeterRegistry 时使用）
+     */
+    public static final LockMetrics NOOP = new LockMetrics(null, "");
+
+    private static final String OTHER = "OTHER";
+
+    private final MeterRegistry registry;
+    private final String keyPrefix;
+    private final Map<String, LockMeters> metersByLock = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry  指标注册表
+     * @param keyPrefix 锁键全局前缀（识别锁键定义前去除）
+     */
+    public LockMetrics(MeterRegistry registry, String keyPrefix) {
+        this.registry = registry;
+        this.keyPrefix = keyPrefix == null ? "" : keyPrefix;
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * 获取锁键对应的指标（按锁键定义缓存）
+     *
+     * @param lockKey 锁键（可带全局前缀）
+     */
+    public LockMeters forKey(String lockKey) {
+        if (registry == null) {
+            return LockMeters.NOOP;
+        }
+        String key = lockKey != null && lockKey.startsWith(keyPrefix) ? lockKey.substring(keyPrefix.length()) : lockKey;
+        LockKeys definition = LockKeys.fromKey(key);
+        String name = definition != null ? definition.name() : OTHER;
+        String category = definition != null ? definition.getCategory().name() : OTHER;
+        return metersByLock.computeIfAbsent(name, n -> new LockMeters(registry, n, category));
+    }
+
+    /**
+     * 某一锁键定义的指标
+     */
+    public static class LockMeters {
+
+        static final LockMeters NOOP = new LockMeters();
+
+        private final MeterRegistry registry;
+        private final String lock;
+        private final String category;
+        private final Timer acquired;
+        private final Timer timeout;
+        private final Timer error;
+        private final Timer hold;
+
+        private LockMeters() {
+            this.registry = null;
+            this.lock = OTHER;
+            this.category = OTHER;
+            this.acquired = null;
+            this.timeout = null;
+            this.error = null;
+            this.hold = null;
+        }
+
+        private LockMeters(MeterRegistry registry, String lock, String category) {
+            this.registry = registry;
+            this.lock = lock;
+            this.category = category;
+            this.acquired = acquireTimer("acquired");
+            this.timeout = acquireTimer("timeout");
+            this.error = acquireTimer("error");
+            this.hold = Timer.builder("lock.hold")
+                    .description("分布式锁持有时间")
+                    .tag("lock", lock)
+                    .tag("category", category)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(5))
+                    .register(registry);
+        }
+
+        private Timer acquireTimer(String result) {
+            return Timer.builder("lock.acquire")
+                    .description("获取分布式锁耗时")
+                    .tag("lock", lock)
+                    .tag("category", category)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+
+        public void recordAcquired(long waitNanos) {
+            if (acquired != null) {
+                acquired.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void recordTimeout(long waitNanos) {
+            if (timeout != null) {
+                timeout.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void recordError(long waitNanos) {
+            if (error != null) {
+                error.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void recordHold(long holdNanos) {
+            if (hold != null) {
+                hold.record(holdNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * 记录注解式锁获取失败后的处理策略
+         */
+        public void recordFailStrategy(String strategy) {
+            if (registry != null) {
+                Counter.builder("lock.fail.strategy")
+                        .description("获取分布式锁失败后的处理结果")
+                        .tag("lock", lock)
+                        .tag("category", category)
+                        .tag("strategy", strategy)
+                        .register(registry)
+                        .increment();
+            }
+        }
+    }
+}
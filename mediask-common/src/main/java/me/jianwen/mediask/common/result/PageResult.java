@@ -53,18 +53,26 @@ public class PageResult<T> implements Serializable {
      */
     private Long pages;
 
+    /**
+     * 下一页游标（游标分页时返回，没有下一页时为空）
+     */
+    private String nextCursor;
+
     /**
      * 是否有上一页
      */
     public boolean hasPrevious() {
-        return current > 1;
+        return current != null && current > 1;
     }
 
     /**
      * 是否有下一页
      */
     public boolean hasNext() {
-        return current < pages;
+        if (nextCursor != null) {
+            return true;
+        }
+        return current != null && pages != null && current < pages;
     }
 
     /**
@@ -88,6 +96,25 @@ public class PageResult<T> implements Serializable {
                 .build();
     }
 
+    /**
+     * 构建游标分页结果
+     *
+     * @param records    数据列表
+     * @param nextCursor 下一页游标，没有下一页时为空
+     * @param total      总记录数，未统计时为空
+     * @param size       每页大小
+     * @param <T>        数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> ofCursor(List<T> records, String nextCursor, Long total, Long size) {
+        return PageResult.<T>builder()
+                .records(records)
+                .nextCursor(nextCursor)
+                .total(total)
+                .size(size)
+                .build();
+    }
+
     /**
      * 构建空分页结果
      *
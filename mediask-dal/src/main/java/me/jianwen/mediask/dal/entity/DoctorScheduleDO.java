@@ -52,6 +52,29 @@ public class DoctorScheduleDO implements Serializable {
      */
     private Integer availableSlots;
 
+    /**
+     * 号源分片数（1 表示不分片）
+     */
+    private Integer slotShardCount;
+
+    /**
+     * 每个号源的就诊时长（分钟）
+     */
+    private Integer slotDurationMinutes;
+
+    /**
+     * 已占用时段位图（整行更新时不覆盖）
+     * 只有两条写入路径：新建排班时随排班插入；之后由位图对账任务按时段行重建，经 syncOccupiedSlots 批量回写
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Long occupiedSlots;
+
+    /**
+     * 最近一次写入使用的锁防护令牌（只通过带令牌校验的 SQL 更新，整行更新时不覆盖）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private Long fencingToken;
+
     /**
      * 状态
      */
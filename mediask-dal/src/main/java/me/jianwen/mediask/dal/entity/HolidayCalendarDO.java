@@ -0,0 +1,53 @@
+package me.jianwen.mediask.dal.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 节假日日历实体
+ *
+ * @author jianwen
+ */
+@Data
+@TableName("holiday_calendar")
+public class HolidayCalendarDO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 日期
+     */
+    private LocalDate calendarDate;
+
+    /**
+     * 日期类型(1法定节假日 2调休工作日)
+     */
+    private Integer dayType;
+
+    /**
+     * 节日名称
+     */
+    private String holidayName;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,78 @@
+package me.jianwen.mediask.dal.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import me.jianwen.mediask.dal.enums.OutboxStatusEnum;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 领域事件发件箱实体
+ *
+ * @author jianwen
+ */
+@Data
+@TableName("outbox_events")
+public class OutboxEventDO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 自增ID（投递顺序，同时作为消息去重键）
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 聚合类型
+     */
+    private String aggregateType;
+
+    /**
+     * 聚合ID
+     */
+    private String aggregateId;
+
+    /**
+     * 事件类型
+     */
+    private String eventType;
+
+    /**
+     * 事件内容 JSON
+     */
+    private String payload;
+
+    /**
+     * 事件发生时间
+     */
+    private LocalDateTime occurredAt;
+
+    /**
+     * 状态
+     */
+    private OutboxStatusEnum status;
+
+    /**
+     * 失败次数
+     */
+    private Integer attempts;
+
+    /**
+     * 最近一次投递失败原因
+     */
+    private String lastError;
+
+    /**
+     * 写入时间（数据库默认值）
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 投递时间
+     */
+    private LocalDateTime publishedAt;
+}
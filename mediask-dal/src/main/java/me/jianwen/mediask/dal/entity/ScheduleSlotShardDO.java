@@ -0,0 +1,57 @@
+package me.jianwen.mediask.dal.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 排班号源分片实体
+ *
+ * @author jianwen
+ */
+@Data
+@TableName("schedule_slot_shards")
+public class ScheduleSlotShardDO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 排班ID
+     */
+    private Long scheduleId;
+
+    /**
+     * 分片序号（从0开始）
+     */
+    private Integer shardNo;
+
+    /**
+     * 分片总号源数
+     */
+    private Integer totalSlots;
+
+    /**
+     * 分片剩余号源
+     */
+    private Integer availableSlots;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
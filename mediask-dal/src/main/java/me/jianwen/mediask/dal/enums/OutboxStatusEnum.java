@@ -0,0 +1,58 @@
+package me.jianwen.mediask.dal.enums;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 发件箱事件状态枚举
+ *
+ * @author jianwen
+ */
+@Getter
+@AllArgsConstructor
+public enum OutboxStatusEnum {
+
+    /**
+     * 待投递
+     */
+    PENDING(0, "待投递"),
+
+    /**
+     * 已投递
+     */
+    PUBLISHED(1, "已投递"),
+
+    /**
+     * 投递失败（超过重试次数，需人工处理）
+     */
+    FAILED(2, "投递失败");
+
+    /**
+     * 数据库存储值
+     */
+    @EnumValue
+    private final Integer code;
+
+    /**
+     * 描述
+     */
+    @JsonValue
+    private final String desc;
+
+    /**
+     * 根据code获取枚举
+     *
+     * @param code 状态码
+     * @return 枚举
+     */
+    public static OutboxStatusEnum fromCode(Integer code) {
+        return Arrays.stream(values())
+                .filter(e -> e.getCode().equals(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("无效的发件箱状态: " + code));
+    }
+}
@@ -3,6 +3,9 @@ package me.jianwen.mediask.dal.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import me.jianwen.mediask.dal.entity.AppointmentSlotDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 号源时段Mapper
@@ -12,4 +15,42 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface AppointmentSlotMapper extends BaseMapper<AppointmentSlotDO> {
+
+    /**
+     * 批量插入时段（多行 INSERT，需预先填充ID和时间戳）
+     *
+     * @param slots 时段列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("slots") List<AppointmentSlotDO> slots);
+
+    /**
+     * 占用时段（条件更新，is_occupied=0 时才成功）
+     *
+     * @param slotId 时段ID
+     * @param apptId 预约ID
+     * @return 更新行数（0 表示已被占用）
+     */
+    int claimSlot(@Param("slotId") Long slotId, @Param("apptId") Long apptId);
+
+    /**
+     * 带锁防护令牌占用时段（时段空闲且排班行上的令牌等于本次令牌时才成功）
+     *
+     * @param slotId       时段ID
+     * @param apptId       预约ID
+     * @param scheduleId   排班ID
+     * @param fencingToken 锁防护令牌
+     * @return 更新行数（0 表示已被占用或令牌已过期）
+     */
+    int claimSlotFenced(@Param("slotId") Long slotId, @Param("apptId") Long apptId,
+                        @Param("scheduleId") Long scheduleId, @Param("fencingToken") long fencingToken);
+
+    /**
+     * 释放时段（仅当由该预约占用时成功）
+     *
+     * @param slotId 时段ID
+     * @param apptId 预约ID
+     * @return 更新行数
+     */
+    int releaseSlot(@Param("slotId") Long slotId, @Param("apptId") Long apptId);
 }
@@ -5,6 +5,11 @@ import me.jianwen.mediask.dal.entity.DoctorScheduleDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 医生排班Mapper
  *
@@ -14,6 +19,14 @@ import org.apache.ibatis.annotations.Param;
 @Mapper
 public interface DoctorScheduleMapper extends BaseMapper<DoctorScheduleDO> {
 
+    /**
+     * 批量插入排班（多行 INSERT，需预先填充ID和时间戳）
+     *
+     * @param schedules 排班列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("schedules") List<DoctorScheduleDO> schedules);
+
     /**
      * 扣减号源（使用乐观锁）
      *
@@ -21,4 +34,72 @@ public interface DoctorScheduleMapper extends BaseMapper<DoctorScheduleDO> {
      * @return 更新行数
      */
     int decreaseSlots(@Param("scheduleId") Long scheduleId);
+
+    /**
+     * 归还号源（仅限不再加载内存库存的排班）
+     *
+     * @param scheduleId       排班ID
+     * @param loadableStatuses 会加载内存库存的状态码
+     * @return 更新行数，0 表示号源已满或排班仍会加载内存库存
+     */
+    int increaseSlotsIfUnloaded(@Param("scheduleId") Long scheduleId,
+                                @Param("loadableStatuses") Collection<Integer> loadableStatuses);
+
+    /**
+     * 批量回写剩余号源（库存对账）
+     *
+     * @param availableSlots 排班ID -> 剩余号源数
+     * @return 更新行数
+     */
+    int syncAvailableSlots(@Param("availableSlots") Map<Long, Integer> availableSlots);
+
+    /**
+     * 按ID顺序对一批排班加行锁（SELECT ... FOR UPDATE）
+     *
+     * @param scheduleIds 排班ID列表
+     * @return 已加锁的排班ID
+     */
+    List<Long> selectIdsForUpdate(@Param("scheduleIds") Collection<Long> scheduleIds);
+
+    /**
+     * 批量回写时段占用位图（位图对账）
+     *
+     * @param occupiedSlots 排班ID -> 占用位图
+     * @return 更新行数
+     */
+    int syncOccupiedSlots(@Param("occupiedSlots") Map<Long, Long> occupiedSlots);
+
+    /**
+     * 推进锁防护令牌（令牌大于已记录的令牌时才更新）
+     *
+     * @param scheduleId   排班ID
+     * @param fencingToken 锁防护令牌
+     * @return 更新行数，0 表示令牌已过期或排班不存在
+     */
+    int advanceFencingToken(@Param("scheduleId") Long scheduleId, @Param("fencingToken") long fencingToken);
+
+    /**
+     * 按 (schedule_date, id) 键集分页查询待过期排班（仅返回 id 和 schedule_date）
+     *
+     * @param beforeDate 排班日期上限（不含）
+     * @param afterDate  游标日期，null 表示从头开始
+     * @param afterId    游标ID
+     * @param status     过期后的状态值，已是该状态的排班不返回
+     * @param limit      最大条数
+     * @return 排班列表
+     */
+    List<DoctorScheduleDO> selectExpiredKeys(@Param("beforeDate") LocalDate beforeDate,
+                                             @Param("afterDate") LocalDate afterDate,
+                                             @Param("afterId") Long afterId,
+                                             @Param("status") Integer status,
+                                             @Param("limit") int limit);
+
+    /**
+     * 批量更新排班状态（已是目标状态的行不更新）
+     *
+     * @param ids    排班ID列表
+     * @param status 目标状态值
+     * @return 更新行数
+     */
+    int updateStatusBatch(@Param("ids") List<Long> ids, @Param("status") Integer status);
 }
@@ -0,0 +1,14 @@
+package me.jianwen.mediask.dal.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import me.jianwen.mediask.dal.entity.HolidayCalendarDO;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 节假日日历Mapper
+ *
+ * @author jianwen
+ */
+@Mapper
+public interface HolidayCalendarMapper extends BaseMapper<HolidayCalendarDO> {
+}
@@ -0,0 +1,57 @@
+package me.jianwen.mediask.dal.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import me.jianwen.mediask.dal.entity.OutboxEventDO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 领域事件发件箱Mapper
+ *
+ * @author jianwen
+ */
+@Mapper
+public interface OutboxEventMapper extends BaseMapper<OutboxEventDO> {
+
+    /**
+     * 批量写入（单条多行 INSERT）
+     *
+     * @return 插入行数
+     */
+    int insertBatch(@Param("events") Collection<OutboxEventDO> events);
+
+    /**
+     * 按ID顺序读取待投递事件
+     */
+    List<OutboxEventDO> selectPending(@Param("limit") int limit);
+
+    /**
+     * 最早一条待投递事件的写入时间，没有待投递事件时返回 null
+     */
+    LocalDateTime selectOldestPendingCreatedAt();
+
+    /**
+     * 批量标记为已投递
+     *
+     * @return 更新行数
+     */
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * 记录一次投递失败，失败次数达到上限时标记为投递失败
+     *
+     * @return 更新行数
+     */
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 分块删除指定时间之前已投递的事件
+     *
+     * @return 删除行数
+     */
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,55 @@
+package me.jianwen.mediask.dal.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import me.jianwen.mediask.dal.entity.ScheduleSlotShardDO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 排班号源分片Mapper
+ *
+ * @author jianwen
+ */
+@Mapper
+public interface ScheduleSlotShardMapper extends BaseMapper<ScheduleSlotShardDO> {
+
+    /**
+     * 批量插入分片（多行 INSERT，需预先填充ID和时间戳）
+     *
+     * @param shards 分片列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("shards") List<ScheduleSlotShardDO> shards);
+
+    /**
+     * 分片扣减号源（条件更新防止超卖，排班须处于给定状态且未过期）
+     *
+     * @param shard    填充 scheduleId / shardNo；更新成功时回填扣减后的分片剩余数到 availableSlots
+     * @param statuses 允许预约的排班状态码
+     * @return 更新行数（为 0 时回填值无意义）
+     */
+    int decreaseShard(@Param("shard") ScheduleSlotShardDO shard, @Param("statuses") Collection<Integer> statuses);
+
+    /**
+     * 分片归还号源（不超过分片总数，排班须处于给定状态且未过期）
+     *
+     * @param shard    填充 scheduleId / shardNo；更新成功时回填归还后的分片剩余数到 availableSlots
+     * @param statuses 允许取消的排班状态码
+     * @return 更新行数（为 0 时回填值无意义）
+     */
+    int increaseShard(@Param("shard") ScheduleSlotShardDO shard, @Param("statuses") Collection<Integer> statuses);
+
+    /**
+     * 锁定排班的全部分片（SELECT ... FOR UPDATE）
+     */
+    List<ScheduleSlotShardDO> selectForUpdate(@Param("scheduleId") Long scheduleId);
+
+    /**
+     * 按排班汇总分片号源
+     * 返回的每行只填充 scheduleId / totalSlots / availableSlots
+     */
+    List<ScheduleSlotShardDO> sumBySchedules(@Param("scheduleIds") Collection<Long> scheduleIds);
+}
@@ -0,0 +1,134 @@
+package me.jianwen.mediask.dal.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import me.jianwen.mediask.common.constant.CommonConstants;
+import me.jianwen.mediask.common.dto.PageCursor;
+import me.jianwen.mediask.common.dto.PageDTO;
+import me.jianwen.mediask.common.result.PageResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 游标（键集）分页查询
+ * <p>
+ * 按（排序键, ID）排序，下一页条件为 {@code sort < k OR (sort = k AND id < i)}（升序时取反），
+ * 配合（排序键, ID）联合索引每页只扫描 size + 1 行，不使用 OFFSET，也不经过分页插件。
+ * 多取一行用于判断是否还有下一页；总数只在请求第一页且 searchCount 为 true 时统计。
+ * </p>
+ * <p>
+ * 排序列必须非空：NULL 不参与比较，含 NULL 的行会被跳过。
+ * </p>
+ *
+ * <pre>
+ * PageResult&lt;AppointmentDO&gt; page = KeysetPagination.query(appointmentMapper, pageDTO,
+ *         KeysetPagination.Spec.desc(AppointmentDO::getCreatedAt, LocalDateTime.class, AppointmentDO::getId),
+ *         w -&gt; w.eq(AppointmentDO::getPatientId, patientId));
+ * </pre>
+ *
+ * @author jianwen
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 游标分页查询
+     *
+     * @param mapper 任意 Mapper
+     * @param page   分页参数（cursor / size / searchCount）
+     * @param spec   排序规格
+     * @param filter 过滤条件（只添加 WHERE 条件，不要添加排序或 LIMIT）
+     * @return 分页结果，nextCursor 为空表示没有下一页
+     */
+    public static <T, C> PageResult<T> query(BaseMapper<T> mapper, PageDTO page, Spec<T, C> spec,
+                                             Consumer<LambdaQueryWrapper<T>> filter) {
+        long size = page.getSize() == null || page.getSize() < 1
+                ? CommonConstants.DEFAULT_PAGE_SIZE
+                : Math.min(page.getSize(), CommonConstants.MAX_PAGE_SIZE);
+        PageCursor<C> cursor = page.getCursor() == null || page.getCursor().isEmpty()
+                ? null : PageCursor.decode(page.getCursor(), spec.sortKeyType);
+
+        Long total = null;
+        if (cursor == null && Boolean.TRUE.equals(page.getSearchCount())) {
+            LambdaQueryWrapper<T> countWrapper = new LambdaQueryWrapper<>();
+            filter.accept(countWrapper);
+            total = mapper.selectCount(countWrapper);
+        }
+
+        LambdaQueryWrapper<T> wrapper = new LambdaQueryWrapper<>();
+        filter.accept(wrapper);
+        if (cursor != null) {
+            C sortKey = cursor.getSortKey();
+            long id = cursor.getId();
+            if (spec.descending) {
+                wrapper.and(w -> w.lt(spec.sortColumn, sortKey)
+                        .or(o -> o.eq(spec.sortColumn, sortKey).lt(spec.idColumn, id)));
+            } else {
+                wrapper.and(w -> w.gt(spec.sortColumn, sortKey)
+                        .or(o -> o.eq(spec.sortColumn, sortKey).gt(spec.idColumn, id)));
+            }
+        }
+        wrapper.orderBy(true, !spec.descending, spec.sortColumn)
+                .orderBy(true, !spec.descending, spec.idColumn)
+                .last("LIMIT " + (size + 1));
+
+        List<T> rows = mapper.selectList(wrapper);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, (int) size);
+            T last = rows.get(rows.size() - 1);
+            nextCursor = PageCursor.encode(spec.sortColumn.apply(last), spec.idColumn.apply(last));
+        }
+        return PageResult.ofCursor(rows, nextCursor, total, size);
+    }
+
+    /**
+     * 排序规格：排序列 + ID 列（ID 保证顺序唯一）
+     *
+     * @param <T> 实体类型
+     * @param <C> 排序键类型
+     */
+    public static final class Spec<T, C> {
+
+        private final SFunction<T, C> sortColumn;
+        private final Class<C> sortKeyType;
+        private final SFunction<T, Long> idColumn;
+        private final boolean descending;
+
+        private Spec(SFunction<T, C> sortColumn, Class<C> sortKeyType, SFunction<T, Long> idColumn,
+                     boolean descending) {
+            this.sortColumn = sortColumn;
+            this.sortKeyType = sortKeyType;
+            this.idColumn = idColumn;
+            this.descending = descending;
+        }
+
+        /**
+         * 按排序键、ID 降序（最新在前）
+         */
+        public static <T, C> Spec<T, C> desc(SFunction<T, C> sortColumn, Class<C> sortKeyType,
+                                             SFunction<T, Long> idColumn) {
+            return new Spec<>(sortColumn, sortKeyType, idColumn, true);
+        }
+
+        /**
+         * 按排序键、ID 升序
+         */
+        public static <T, C> Spec<T, C> asc(SFunction<T, C> sortColumn, Class<C> sortKeyType,
+                                            SFunction<T, Long> idColumn) {
+            return new Spec<>(sortColumn, sortKeyType, idColumn, false);
+        }
+
+        /**
+         * 只按 ID 降序
+         */
+        public static <T> Spec<T, Long> byIdDesc(SFunction<T, Long> idColumn) {
+            return new Spec<>(idColumn, Long.class, idColumn, true);
+        }
+    }
+}
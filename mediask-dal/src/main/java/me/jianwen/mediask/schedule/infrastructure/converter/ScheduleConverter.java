@@ -35,6 +35,9 @@ public interface ScheduleConverter {
         dataObject.setTimePeriod(TimePeriodEnum.fromCode(schedule.getTimePeriod().getCode()));
         dataObject.setTotalSlots(schedule.getCapacity().getTotalSlots());
         dataObject.setAvailableSlots(schedule.getCapacity().getAvailableSlots());
+        dataObject.setSlotShardCount(schedule.getSlotShardCount());
+        dataObject.setSlotDurationMinutes(schedule.getSlotDurationMinutes());
+        dataObject.setOccupiedSlots(schedule.getOccupiedSlots());
         dataObject.setStatus(mapToStatusEnum(schedule.getStatus()));
         dataObject.setCreatedAt(schedule.getCreatedAt());
         dataObject.setUpdatedAt(schedule.getUpdatedAt());
@@ -59,7 +62,15 @@ public interface ScheduleConverter {
                 dataObject.getTotalSlots(),
                 dataObject.getAvailableSlots()));
         schedule.setStatus(mapToScheduleStatus(dataObject.getStatus()));
-        schedule.setSlotDurationMinutes(15); // TODO: 从数据库读取
+        if (dataObject.getSlotDurationMinutes() != null) {
+            schedule.setSlotDurationMinutes(dataObject.getSlotDurationMinutes());
+        }
+        if (dataObject.getOccupiedSlots() != null) {
+            schedule.setOccupiedSlots(dataObject.getOccupiedSlots());
+        }
+        if (dataObject.getSlotShardCount() != null) {
+            schedule.setSlotShardCount(dataObject.getSlotShardCount());
+        }
         schedule.setCreatedAt(dataObject.getCreatedAt());
         schedule.setUpdatedAt(dataObject.getUpdatedAt());
 
@@ -1,6 +1,7 @@
 package me.jianwen.mediask.schedule.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import lombok.RequiredArgsConstructor;
 import me.jianwen.mediask.dal.entity.AppointmentSlotDO;
 import me.jianwen.mediask.dal.mapper.AppointmentSlotMapper;
@@ -10,7 +11,9 @@ import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
 import me.jianwen.mediask.schedule.infrastructure.converter.AppointmentSlotConverter;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -24,6 +27,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AppointmentSlotRepositoryImpl implements AppointmentSlotRepository {
 
+    /**
+     * 单条 INSERT 语句的最大行数，避免超过 max_allowed_packet
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final AppointmentSlotMapper slotMapper;
     private final AppointmentSlotConverter slotConverter;
 
@@ -47,7 +55,31 @@ public class AppointmentSlotRepositoryImpl implements AppointmentSlotRepository
         if (slots == null || slots.isEmpty()) {
             return;
         }
-        slots.forEach(this::save);
+
+        // 新时段预分配雪花ID后多行插入，已有时段逐条更新
+        LocalDateTime now = LocalDateTime.now();
+        List<AppointmentSlotDO> inserts = new ArrayList<>(slots.size());
+        for (AppointmentSlot slot : slots) {
+            if (slot.getId() != null) {
+                save(slot);
+                continue;
+            }
+            AppointmentSlotDO dataObject = slotConverter.toDataObject(slot);
+            dataObject.setId(IdWorker.getId());
+            // 自定义 SQL 不经过 MetaObjectHandler，与自动填充保持一致：仅填充空值
+            if (dataObject.getCreatedAt() == null) {
+                dataObject.setCreatedAt(now);
+            }
+            if (dataObject.getUpdatedAt() == null) {
+                dataObject.setUpdatedAt(now);
+            }
+            slot.setId(dataObject.getId());
+            inserts.add(dataObject);
+        }
+
+        for (int from = 0; from < inserts.size(); from += INSERT_BATCH_SIZE) {
+            slotMapper.insertBatch(inserts.subList(from, Math.min(from + INSERT_BATCH_SIZE, inserts.size())));
+        }
     }
 
     @Override
@@ -95,6 +127,28 @@ public class AppointmentSlotRepositoryImpl implements AppointmentSlotRepository
         return Optional.of(slotConverter.toDomain(dataObject));
     }
 
+    @Override
+    public Optional<AppointmentSlot> findByScheduleAndIndex(ScheduleId scheduleId, int slotIndex) {
+        LambdaQueryWrapper<AppointmentSlotDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(AppointmentSlotDO::getScheduleId, scheduleId.getValue())
+                .orderByAsc(AppointmentSlotDO::getSlotTime)
+                .last("LIMIT " + Math.max(slotIndex, 0) + ", 1");
+
+        AppointmentSlotDO dataObject = slotMapper.selectOne(wrapper);
+        if (dataObject == null) {
+            return Optional.empty();
+        }
+        return Optional.of(slotConverter.toDomain(dataObject));
+    }
+
+    @Override
+    public int findSlotIndex(ScheduleId scheduleId, LocalTime startTime) {
+        LambdaQueryWrapper<AppointmentSlotDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(AppointmentSlotDO::getScheduleId, scheduleId.getValue())
+                .lt(AppointmentSlotDO::getSlotTime, startTime);
+        return slotMapper.selectCount(wrapper).intValue();
+    }
+
     @Override
     public long countAvailableBySchedule(ScheduleId scheduleId) {
         LambdaQueryWrapper<AppointmentSlotDO> wrapper = new LambdaQueryWrapper<>();
@@ -103,6 +157,21 @@ public class AppointmentSlotRepositoryImpl implements AppointmentSlotRepository
         return slotMapper.selectCount(wrapper);
     }
 
+    @Override
+    public boolean tryOccupy(Long slotId, Long appointmentId) {
+        return slotMapper.claimSlot(slotId, appointmentId) == 1;
+    }
+
+    @Override
+    public boolean tryOccupy(Long slotId, Long appointmentId, ScheduleId scheduleId, long fencingToken) {
+        return slotMapper.claimSlotFenced(slotId, appointmentId, scheduleId.getValue(), fencingToken) == 1;
+    }
+
+    @Override
+    public boolean tryRelease(Long slotId, Long appointmentId) {
+        return slotMapper.releaseSlot(slotId, appointmentId) == 1;
+    }
+
     @Override
     public void deleteBySchedule(ScheduleId scheduleId) {
         LambdaQueryWrapper<AppointmentSlotDO> wrapper = new LambdaQueryWrapper<>();
@@ -0,0 +1,38 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.dal.entity.DoctorDO;
+import me.jianwen.mediask.dal.enums.StatusEnum;
+import me.jianwen.mediask.dal.mapper.DoctorMapper;
+import me.jianwen.mediask.schedule.domain.repository.DoctorQueryRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 医生查询仓储实现（基础设施层）
+ *
+ * @author jianwen
+ */
+@Repository
+@RequiredArgsConstructor
+public class DoctorQueryRepositoryImpl implements DoctorQueryRepository {
+
+    private final DoctorMapper doctorMapper;
+
+    @Override
+    public List<DoctorId> findSchedulableDoctors(Long hospitalId, Long deptId) {
+        LambdaQueryWrapper<DoctorDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(DoctorDO::getId)
+                .eq(DoctorDO::getHospitalId, hospitalId)
+                .eq(deptId != null, DoctorDO::getDeptId, deptId)
+                .eq(DoctorDO::getStatus, StatusEnum.ENABLED)
+                .orderByAsc(DoctorDO::getId);
+
+        return doctorMapper.selectList(wrapper).stream()
+                .map(doctor -> DoctorId.of(doctor.getId()))
+                .toList();
+    }
+}
@@ -1,25 +1,38 @@
 package me.jianwen.mediask.schedule.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import lombok.RequiredArgsConstructor;
 import me.jianwen.mediask.dal.entity.DoctorScheduleDO;
+import me.jianwen.mediask.dal.enums.StatusEnum;
 import me.jianwen.mediask.dal.mapper.DoctorScheduleMapper;
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
 import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.SlotShardRepository;
 import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleCursor;
 import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
 import me.jianwen.mediask.schedule.domain.valueobject.ScheduleStatus;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotCapacity;
 import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
 import me.jianwen.mediask.schedule.infrastructure.converter.ScheduleConverter;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * 排班仓储实现（基础设施层）
+ * <p>
+ * 分片计数的排班不维护 available_slots 列，读取时由分片表汇总号源容量。
+ * </p>
  *
  * @author jianwen
  */
@@ -27,8 +40,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
 
+    /**
+     * 已过期排班的存储状态（与 ScheduleConverter 一致：非开放状态均存储为停用）
+     */
+    private static final StatusEnum EXPIRED_STATUS = StatusEnum.DISABLED;
+
+    /**
+     * 会加载内存库存的排班的存储状态（开放排班存储为正常）
+     */
+    private static final List<Integer> LOADABLE_STATUSES = List.of(StatusEnum.ENABLED.getCode());
+
+    /**
+     * 单条 INSERT 语句的最大行数，避免超过 max_allowed_packet
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final DoctorScheduleMapper scheduleMapper;
     private final ScheduleConverter scheduleConverter;
+    private final SlotShardRepository slotShardRepository;
 
     @Override
     public void save(DoctorSchedule schedule) {
@@ -45,7 +74,34 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
 
     @Override
     public void saveAll(List<DoctorSchedule> schedules) {
-        schedules.forEach(this::save);
+        if (schedules == null || schedules.isEmpty()) {
+            return;
+        }
+
+        // 新排班预分配雪花ID后多行插入，已有排班逐条更新
+        LocalDateTime now = LocalDateTime.now();
+        List<DoctorScheduleDO> inserts = new ArrayList<>(schedules.size());
+        for (DoctorSchedule schedule : schedules) {
+            if (schedule.getId() != null) {
+                save(schedule);
+                continue;
+            }
+            DoctorScheduleDO dataObject = scheduleConverter.toDataObject(schedule);
+            dataObject.setId(IdWorker.getId());
+            // 自定义 SQL 不经过 MetaObjectHandler，与自动填充保持一致：仅填充空值
+            if (dataObject.getCreatedAt() == null) {
+                dataObject.setCreatedAt(now);
+            }
+            if (dataObject.getUpdatedAt() == null) {
+                dataObject.setUpdatedAt(now);
+            }
+            schedule.setId(ScheduleId.of(dataObject.getId()));
+            inserts.add(dataObject);
+        }
+
+        for (int from = 0; from < inserts.size(); from += INSERT_BATCH_SIZE) {
+            scheduleMapper.insertBatch(inserts.subList(from, Math.min(from + INSERT_BATCH_SIZE, inserts.size())));
+        }
     }
 
     @Override
@@ -54,7 +110,20 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
         if (dataObject == null) {
             return Optional.empty();
         }
-        return Optional.of(scheduleConverter.toDomain(dataObject));
+        return Optional.of(toDomainList(List.of(dataObject)).get(0));
+    }
+
+    @Override
+    public Optional<Integer> findSlotShardCount(ScheduleId scheduleId) {
+        LambdaQueryWrapper<DoctorScheduleDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(DoctorScheduleDO::getId, DoctorScheduleDO::getSlotShardCount)
+                .eq(DoctorScheduleDO::getId, scheduleId.getValue());
+        DoctorScheduleDO dataObject = scheduleMapper.selectOne(wrapper);
+        if (dataObject == null) {
+            return Optional.empty();
+        }
+        Integer shardCount = dataObject.getSlotShardCount();
+        return Optional.of(shardCount == null ? 1 : shardCount);
     }
 
     @Override
@@ -72,7 +141,7 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
         if (dataObject == null) {
             return Optional.empty();
         }
-        return Optional.of(scheduleConverter.toDomain(dataObject));
+        return Optional.of(toDomainList(List.of(dataObject)).get(0));
     }
 
     @Override
@@ -82,9 +151,7 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
                 .eq(DoctorScheduleDO::getScheduleDate, scheduleDate)
                 .orderByAsc(DoctorScheduleDO::getTimePeriod);
 
-        return scheduleMapper.selectList(wrapper).stream()
-                .map(scheduleConverter::toDomain)
-                .collect(Collectors.toList());
+        return toDomainList(scheduleMapper.selectList(wrapper));
     }
 
     @Override
@@ -99,9 +166,7 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
                 .le(DoctorScheduleDO::getScheduleDate, endDate)
                 .orderByAsc(DoctorScheduleDO::getScheduleDate, DoctorScheduleDO::getTimePeriod);
 
-        return scheduleMapper.selectList(wrapper).stream()
-                .map(scheduleConverter::toDomain)
-                .collect(Collectors.toList());
+        return toDomainList(scheduleMapper.selectList(wrapper));
     }
 
     @Override
@@ -114,9 +179,21 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
                 .eq(DoctorScheduleDO::getTimePeriod, timePeriod.getCode())
                 .eq(DoctorScheduleDO::getStatus, ScheduleStatus.OPEN.getCode());
 
-        return scheduleMapper.selectList(wrapper).stream()
-                .map(scheduleConverter::toDomain)
-                .collect(Collectors.toList());
+        return toDomainList(scheduleMapper.selectList(wrapper));
+    }
+
+    @Override
+    public List<DoctorSchedule> findOpenSchedulesByDateRange(
+            LocalDate startDate,
+            LocalDate endDate) {
+
+        LambdaQueryWrapper<DoctorScheduleDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.ge(DoctorScheduleDO::getScheduleDate, startDate)
+                .le(DoctorScheduleDO::getScheduleDate, endDate)
+                .eq(DoctorScheduleDO::getStatus, ScheduleStatus.OPEN.getCode())
+                .orderByAsc(DoctorScheduleDO::getScheduleDate, DoctorScheduleDO::getTimePeriod);
+
+        return toDomainList(scheduleMapper.selectList(wrapper));
     }
 
     @Override
@@ -135,13 +212,108 @@ public class DoctorScheduleRepositoryImpl implements DoctorScheduleRepository {
         wrapper.lt(DoctorScheduleDO::getScheduleDate, beforeDate)
                 .ne(DoctorScheduleDO::getStatus, ScheduleStatus.EXPIRED.getCode());
 
-        return scheduleMapper.selectList(wrapper).stream()
-                .map(scheduleConverter::toDomain)
-                .collect(Collectors.toList());
+        return toDomainList(scheduleMapper.selectList(wrapper));
+    }
+
+    @Override
+    public boolean advanceFencingToken(ScheduleId scheduleId, long fencingToken) {
+        return scheduleMapper.advanceFencingToken(scheduleId.getValue(), fencingToken) == 1;
+    }
+
+    @Override
+    public void syncOccupiedSlots(Map<ScheduleId, Long> occupiedSlots) {
+        if (occupiedSlots == null || occupiedSlots.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> rows = new HashMap<>(occupiedSlots.size() * 2);
+        occupiedSlots.forEach((scheduleId, mask) -> rows.put(scheduleId.getValue(), mask));
+        scheduleMapper.syncOccupiedSlots(rows);
+    }
+
+    @Override
+    public List<ScheduleCursor> findExpiredScheduleKeys(LocalDate beforeDate, ScheduleCursor after, int limit) {
+        List<DoctorScheduleDO> rows = scheduleMapper.selectExpiredKeys(
+                beforeDate,
+                after == null ? null : after.getScheduleDate(),
+                after == null ? null : after.getId(),
+                EXPIRED_STATUS.getCode(),
+                limit);
+
+        List<ScheduleCursor> keys = new ArrayList<>(rows.size());
+        for (DoctorScheduleDO row : rows) {
+            keys.add(ScheduleCursor.of(row.getScheduleDate(), row.getId()));
+        }
+        return keys;
+    }
+
+    @Override
+    public int markExpired(List<ScheduleId> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(scheduleIds.size());
+        for (ScheduleId scheduleId : scheduleIds) {
+            ids.add(scheduleId.getValue());
+        }
+        return scheduleMapper.updateStatusBatch(ids, EXPIRED_STATUS.getCode());
+    }
+
+    @Override
+    public void syncAvailableSlots(Map<ScheduleId, Integer> availableSlots) {
+        if (availableSlots == null || availableSlots.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> rows = new HashMap<>(availableSlots.size() * 2);
+        availableSlots.forEach((scheduleId, available) -> rows.put(scheduleId.getValue(), available));
+        scheduleMapper.syncAvailableSlots(rows);
+    }
+
+    @Override
+    public boolean restoreUnloadedSlot(ScheduleId scheduleId) {
+        return scheduleMapper.increaseSlotsIfUnloaded(scheduleId.getValue(), LOADABLE_STATUSES) > 0;
+    }
+
+    @Override
+    public void lockForUpdate(Collection<ScheduleId> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(scheduleIds.size());
+        for (ScheduleId scheduleId : scheduleIds) {
+            ids.add(scheduleId.getValue());
+        }
+        scheduleMapper.selectIdsForUpdate(ids);
     }
 
     @Override
     public void remove(ScheduleId scheduleId) {
         scheduleMapper.deleteById(scheduleId.getValue());
+        slotShardRepository.removeShards(scheduleId);
+    }
+
+    /**
+     * 转换为领域对象，分片计数的排班批量汇总分片容量
+     */
+    private List<DoctorSchedule> toDomainList(List<DoctorScheduleDO> dataObjects) {
+        List<DoctorSchedule> schedules = dataObjects.stream()
+                .map(scheduleConverter::toDomain)
+                .collect(Collectors.toList());
+
+        List<ScheduleId> shardedIds = schedules.stream()
+                .filter(DoctorSchedule::isSlotSharded)
+                .map(DoctorSchedule::getId)
+                .toList();
+        if (shardedIds.isEmpty()) {
+            return schedules;
+        }
+
+        Map<ScheduleId, SlotCapacity> capacities = slotShardRepository.sumCapacity(shardedIds);
+        for (DoctorSchedule schedule : schedules) {
+            SlotCapacity capacity = capacities.get(schedule.getId());
+            if (capacity != null) {
+                schedule.setCapacity(capacity);
+            }
+        }
+        return schedules;
     }
 }
@@ -0,0 +1,41 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.dal.entity.HolidayCalendarDO;
+import me.jianwen.mediask.dal.mapper.HolidayCalendarMapper;
+import me.jianwen.mediask.schedule.domain.repository.HolidayRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.HolidayDay;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 节假日日历仓储实现（基础设施层）
+ *
+ * @author jianwen
+ */
+@Repository
+@RequiredArgsConstructor
+public class HolidayRepositoryImpl implements HolidayRepository {
+
+    /**
+     * 日期类型：调休工作日
+     */
+    private static final int DAY_TYPE_MAKEUP_WORKDAY = 2;
+
+    private final HolidayCalendarMapper holidayCalendarMapper;
+
+    @Override
+    public List<HolidayDay> findAll() {
+        LambdaQueryWrapper<HolidayCalendarDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.orderByAsc(HolidayCalendarDO::getCalendarDate);
+
+        return holidayCalendarMapper.selectList(wrapper).stream()
+                .map(day -> new HolidayDay(
+                        day.getCalendarDate(),
+                        day.getDayType() != null && day.getDayType() == DAY_TYPE_MAKEUP_WORKDAY,
+                        day.getHolidayName()))
+                .toList();
+    }
+}
@@ -0,0 +1,49 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.common.util.JsonUtil;
+import me.jianwen.mediask.dal.entity.OutboxEventDO;
+import me.jianwen.mediask.dal.mapper.OutboxEventMapper;
+import me.jianwen.mediask.schedule.domain.repository.OutboxRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.OutboxEvent;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 领域事件发件箱仓储实现
+ *
+ * @author jianwen
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepositoryImpl implements OutboxRepository {
+
+    /**
+     * 单条 INSERT 的最大行数，避免语句过大
+     */
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    private final OutboxEventMapper outboxEventMapper;
+
+    @Override
+    public void appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<OutboxEventDO> rows = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            OutboxEventDO row = new OutboxEventDO();
+            row.setAggregateType(event.getAggregateType());
+            row.setAggregateId(event.getAggregateId());
+            row.setEventType(event.eventType());
+            row.setPayload(JsonUtil.toJson(event.getEvent()));
+            row.setOccurredAt(event.getOccurredOn());
+            rows.add(row);
+        }
+        for (int from = 0; from < rows.size(); from += INSERT_CHUNK_SIZE) {
+            outboxEventMapper.insertBatch(rows.subList(from, Math.min(from + INSERT_CHUNK_SIZE, rows.size())));
+        }
+    }
+}
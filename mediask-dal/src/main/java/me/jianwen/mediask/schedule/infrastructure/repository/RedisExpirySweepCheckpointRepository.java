@@ -0,0 +1,62 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.schedule.domain.repository.ExpirySweepCheckpointRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleCursor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 过期排班清理检查点仓储实现（Redis）
+ * <p>
+ * 检查点以 {@code {scheduleDate}|{scheduleId}} 字符串存储，多实例共享；
+ * 设置有效期，异常残留的检查点不会长期影响后续清理。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RedisExpirySweepCheckpointRepository implements ExpirySweepCheckpointRepository {
+
+    private static final String SEPARATOR = "|";
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public Optional<ScheduleCursor> load() {
+        String value = stringRedisTemplate.opsForValue().get(RedisKeyConstants.SCHEDULE_EXPIRE_CHECKPOINT);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        int index = value.indexOf(SEPARATOR);
+        try {
+            return Optional.of(ScheduleCursor.of(
+                    LocalDate.parse(value.substring(0, index)),
+                    Long.valueOf(value.substring(index + 1))));
+        } catch (RuntimeException e) {
+            log.warn("过期排班清理检查点格式错误，从头开始: {}", value);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(ScheduleCursor cursor) {
+        stringRedisTemplate.opsForValue().set(RedisKeyConstants.SCHEDULE_EXPIRE_CHECKPOINT,
+                cursor.getScheduleDate() + SEPARATOR + cursor.getId(), CHECKPOINT_TTL);
+    }
+
+    @Override
+    public void clear() {
+        stringRedisTemplate.delete(RedisKeyConstants.SCHEDULE_EXPIRE_CHECKPOINT);
+    }
+}
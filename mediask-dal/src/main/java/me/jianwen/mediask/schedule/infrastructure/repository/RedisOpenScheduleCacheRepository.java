@@ -0,0 +1,120 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.common.util.JsonUtil;
+import me.jianwen.mediask.dal.entity.DoctorScheduleDO;
+import me.jianwen.mediask.schedule.domain.repository.OpenScheduleCacheRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.OpenScheduleSnapshot;
+import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+import me.jianwen.mediask.schedule.infrastructure.converter.ScheduleConverter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * 可预约排班列表共享缓存实现（Redis）
+ * <p>
+ * 同一（日期, 时段）的各范围列表存放在一个 Hash 中，失效时整体删除；
+ * 每次写入延长 Hash 的有效期，各列表是否过期以快照中的逻辑过期时间为准。
+ * 失效后通过 Pub/Sub 通知所有实例。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RedisOpenScheduleCacheRepository implements OpenScheduleCacheRepository {
+
+    /**
+     * 写入列表并延长有效期（只延长不缩短）
+     * KEYS[1]=缓存Key, ARGV[1]=scope, ARGV[2]=快照JSON, ARGV[3]=ttl(毫秒)
+     */
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[3]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ScheduleConverter scheduleConverter;
+
+    @Override
+    public Optional<OpenScheduleSnapshot> get(LocalDate scheduleDate, TimePeriod timePeriod, String scope) {
+        Object json = stringRedisTemplate.opsForHash().get(cacheKey(scheduleDate, timePeriod), scope);
+        CachedListing cached = json == null ? null : JsonUtil.fromJson((String) json, CachedListing.class);
+        if (cached == null || cached.getSchedules() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(OpenScheduleSnapshot.of(
+                cached.getSchedules().stream().map(scheduleConverter::toDomain).toList(),
+                cached.getExpireAt(),
+                cached.getRebuildMillis()));
+    }
+
+    @Override
+    public void put(LocalDate scheduleDate, TimePeriod timePeriod, String scope,
+                    OpenScheduleSnapshot snapshot, Duration ttl) {
+        CachedListing cached = new CachedListing();
+        cached.setSchedules(snapshot.getSchedules().stream().map(scheduleConverter::toDataObject).toList());
+        cached.setExpireAt(snapshot.getExpireAt());
+        cached.setRebuildMillis(snapshot.getRebuildMillis());
+        stringRedisTemplate.execute(PUT_SCRIPT,
+                List.of(cacheKey(scheduleDate, timePeriod)),
+                scope,
+                JsonUtil.toJson(cached),
+                String.valueOf(Math.max(1, ttl.toMillis())));
+    }
+
+    @Override
+    public void evict(LocalDate scheduleDate, TimePeriod timePeriod) {
+        stringRedisTemplate.delete(cacheKey(scheduleDate, timePeriod));
+        stringRedisTemplate.convertAndSend(RedisKeyConstants.SCHEDULE_OPEN_CACHE_CHANNEL,
+                scheduleDate + "|" + timePeriod.getCode());
+    }
+
+    @Override
+    public void subscribeEvictions(BiConsumer<LocalDate, TimePeriod> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int sep = body.indexOf('|');
+            if (sep < 0) {
+                log.warn("忽略无法解析的排班缓存失效通知: {}", body);
+                return;
+            }
+            listener.accept(LocalDate.parse(body.substring(0, sep)),
+                    TimePeriod.fromCode(Integer.parseInt(body.substring(sep + 1))));
+        }, new ChannelTopic(RedisKeyConstants.SCHEDULE_OPEN_CACHE_CHANNEL));
+    }
+
+    private static String cacheKey(LocalDate scheduleDate, TimePeriod timePeriod) {
+        return RedisKeyConstants.SCHEDULE_OPEN_CACHE + scheduleDate + ":" + timePeriod.getCode();
+    }
+
+    /**
+     * 缓存中的列表格式
+     */
+    @Data
+    private static class CachedListing {
+
+        private List<DoctorScheduleDO> schedules;
+        private long expireAt;
+        private long rebuildMillis;
+    }
+}
@@ -0,0 +1,234 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.schedule.domain.repository.ScheduleInventoryRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 排班号源库存仓储实现（Redis）
+ * <p>
+ * 库存以 Hash 存储（available / total），扣减和归还均通过 Lua 脚本原子完成，
+ * 并把排班ID记入待回写集合，由对账任务批量写回数据库。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RedisScheduleInventoryRepository implements ScheduleInventoryRepository {
+
+    private static final byte[] FIELD_AVAILABLE = "available".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 预加载：库存不存在时写入
+     * KEYS[1]=库存Key, ARGV[1]=available, ARGV[2]=total, ARGV[3]=ttl(秒)
+     */
+    private static final RedisScript<Long> PRELOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'available', ARGV[1], 'total', ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * 扣减：检查并扣减一个号源
+     * KEYS[1]=库存Key, KEYS[2]=待回写集合, KEYS[3]=冻结标记, ARGV[1]=scheduleId
+     */
+    private static final RedisScript<Long> DEDUCT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                return -3
+            end
+            local available = redis.call('HGET', KEYS[1], 'available')
+            if not available then
+                return -2
+            end
+            if tonumber(available) <= 0 then
+                return -1
+            end
+            local remaining = redis.call('HINCRBY', KEYS[1], 'available', -1)
+            redis.call('SADD', KEYS[2], ARGV[1])
+            return remaining
+            """, Long.class);
+
+    /**
+     * 归还：不超过总号源数
+     * KEYS[1]=库存Key, KEYS[2]=待回写集合, KEYS[3]=冻结标记, ARGV[1]=scheduleId
+     */
+    private static final RedisScript<Long> RESTORE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                return -3
+            end
+            local available = redis.call('HGET', KEYS[1], 'available')
+            if not available then
+                return -2
+            end
+            local total = tonumber(redis.call('HGET', KEYS[1], 'total'))
+            if tonumber(available) >= total then
+                return -1
+            end
+            local remaining = redis.call('HINCRBY', KEYS[1], 'available', 1)
+            redis.call('SADD', KEYS[2], ARGV[1])
+            return remaining
+            """, Long.class);
+
+    /**
+     * 冻结：写入带过期时间的冻结标记并返回当前剩余号源，同时移出待回写集合（冻结值由管理操作在事务内写回）
+     * KEYS[1]=库存Key, KEYS[2]=待回写集合, KEYS[3]=冻结标记, ARGV[1]=scheduleId, ARGV[2]=冻结标记过期时间(秒)
+     */
+    private static final RedisScript<Long> FREEZE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[3], '1', 'EX', ARGV[2])
+            redis.call('SREM', KEYS[2], ARGV[1])
+            local available = redis.call('HGET', KEYS[1], 'available')
+            if not available then
+                return nil
+            end
+            return tonumber(available)
+            """, Long.class);
+
+    /**
+     * 移除：删除库存和冻结标记，返回移除前的剩余号源
+     * KEYS[1]=库存Key, KEYS[2]=冻结标记
+     */
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            local available = redis.call('HGET', KEYS[1], 'available')
+            redis.call('DEL', KEYS[1], KEYS[2])
+            if not available then
+                return nil
+            end
+            return tonumber(available)
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public boolean preload(ScheduleId scheduleId, int availableSlots, int totalSlots, Duration ttl) {
+        Long result = stringRedisTemplate.execute(PRELOAD_SCRIPT,
+                List.of(stockKey(scheduleId)),
+                String.valueOf(availableSlots),
+                String.valueOf(totalSlots),
+                String.valueOf(Math.max(1, ttl.toSeconds())));
+        boolean loaded = result != null && result == 1L;
+        if (loaded) {
+            log.debug("预加载排班库存: scheduleId={}, available={}, total={}",
+                    scheduleId.getValue(), availableSlots, totalSlots);
+        }
+        return loaded;
+    }
+
+    @Override
+    public int tryDeduct(ScheduleId scheduleId) {
+        Long result = stringRedisTemplate.execute(DEDUCT_SCRIPT,
+                List.of(stockKey(scheduleId), RedisKeyConstants.SCHEDULE_STOCK_DIRTY, frozenKey(scheduleId)),
+                String.valueOf(scheduleId.getValue()));
+        return result == null ? NOT_LOADED : result.intValue();
+    }
+
+    @Override
+    public int restore(ScheduleId scheduleId) {
+        Long result = stringRedisTemplate.execute(RESTORE_SCRIPT,
+                List.of(stockKey(scheduleId), RedisKeyConstants.SCHEDULE_STOCK_DIRTY, frozenKey(scheduleId)),
+                String.valueOf(scheduleId.getValue()));
+        return result == null ? NOT_LOADED : result.intValue();
+    }
+
+    @Override
+    public Integer freeze(ScheduleId scheduleId, Duration maxFrozen) {
+        Long result = stringRedisTemplate.execute(FREEZE_SCRIPT,
+                List.of(stockKey(scheduleId), RedisKeyConstants.SCHEDULE_STOCK_DIRTY, frozenKey(scheduleId)),
+                String.valueOf(scheduleId.getValue()),
+                String.valueOf(Math.max(1, maxFrozen.toSeconds())));
+        return result == null ? null : result.intValue();
+    }
+
+    @Override
+    public void unfreeze(ScheduleId scheduleId) {
+        // 冻结时移出了待回写集合，事务内的回写已回滚，需重新标记
+        stringRedisTemplate.delete(frozenKey(scheduleId));
+        markDirty(List.of(scheduleId));
+    }
+
+    @Override
+    public Integer evict(ScheduleId scheduleId) {
+        Long result = stringRedisTemplate.execute(EVICT_SCRIPT, List.of(stockKey(scheduleId), frozenKey(scheduleId)));
+        return result == null ? null : result.intValue();
+    }
+
+    @Override
+    public List<ScheduleId> drainDirty(int batchSize) {
+        List<String> scheduleIds = stringRedisTemplate.opsForSet()
+                .pop(RedisKeyConstants.SCHEDULE_STOCK_DIRTY, batchSize);
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return List.of();
+        }
+        return scheduleIds.stream()
+                .map(id -> ScheduleId.of(Long.valueOf(id)))
+                .toList();
+    }
+
+    @Override
+    public Map<ScheduleId, Integer> snapshot(Collection<ScheduleId> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return Map.of();
+        }
+        List<ScheduleId> ids = List.copyOf(scheduleIds);
+
+        // 管道批量读取，一次往返拿到整批剩余号源和冻结标记
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ScheduleId id : ids) {
+                connection.hashCommands().hGet(
+                        stockKey(id).getBytes(StandardCharsets.UTF_8),
+                        FIELD_AVAILABLE);
+                connection.keyCommands().exists(
+                        frozenKey(id).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        Map<ScheduleId, Integer> result = new LinkedHashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            Object available = results.get(2 * i);
+            boolean frozen = Boolean.TRUE.equals(results.get(2 * i + 1));
+            // 库存已被移除（停诊/过期）或已冻结（管理操作在事务内回写）时跳过，以数据库为准
+            if (available != null && !frozen) {
+                result.put(ids.get(i), Integer.valueOf(available.toString()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void markDirty(Collection<ScheduleId> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return;
+        }
+        String[] ids = scheduleIds.stream()
+                .map(id -> String.valueOf(id.getValue()))
+                .toArray(String[]::new);
+        stringRedisTemplate.opsForSet().add(RedisKeyConstants.SCHEDULE_STOCK_DIRTY, ids);
+    }
+
+    private String stockKey(ScheduleId scheduleId) {
+        return RedisKeyConstants.SCHEDULE_STOCK + scheduleId.getValue();
+    }
+
+    private String frozenKey(ScheduleId scheduleId) {
+        return RedisKeyConstants.SCHEDULE_STOCK_FROZEN + scheduleId.getValue();
+    }
+}
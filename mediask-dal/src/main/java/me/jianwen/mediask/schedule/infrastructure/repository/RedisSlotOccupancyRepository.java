@@ -0,0 +1,263 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.schedule.domain.repository.SlotOccupancyRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotOccupancy;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 排班时段占用位图仓储实现（Redis）
+ * <p>
+ * 每个排班一个 64 位的 String 位图，第 i 位对应第 i 个时段，1 表示已占用；
+ * 超出时段数的位写入时恒置 1，因此 {@code 64 - BITCOUNT} 即为空闲数，{@code BITPOS 0} 即为第一个空闲时段。
+ * 预占与置位通过 Lua 脚本原子完成，并把排班ID记入待对账集合。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RedisSlotOccupancyRepository implements SlotOccupancyRepository {
+
+    private static final int BITMAP_BITS = 64;
+
+    /**
+     * 按 '0'/'1' 字符串重写位图（ARGV 只能传字符串，逐位 SETBIT，最多 64 次）
+     */
+    private static final String WRITE_BITS = """
+            local function write(key, bits)
+                redis.call('DEL', key)
+                for i = 1, #bits do
+                    if string.byte(bits, i) == 49 then
+                        redis.call('SETBIT', key, i - 1, 1)
+                    end
+                end
+            end
+            """;
+
+    /**
+     * 预加载：位图不存在时写入
+     * KEYS[1]=位图Key, ARGV[1]=位串, ARGV[2]=ttl(秒)
+     */
+    private static final RedisScript<Long> PRELOAD_SCRIPT = new DefaultRedisScript<>(WRITE_BITS + """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            write(KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * 覆盖：位图存在时重写并保留原有效期
+     * KEYS[1]=位图Key, ARGV[1]=位串
+     */
+    private static final RedisScript<Long> REFRESH_SCRIPT = new DefaultRedisScript<>(WRITE_BITS + """
+            local ttl = redis.call('PTTL', KEYS[1])
+            if ttl == -2 then
+                return 0
+            end
+            write(KEYS[1], ARGV[1])
+            if ttl > 0 then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * 预占：在空闲位中选第 (seed % 空闲数) 个置位
+     * KEYS[1]=位图Key, KEYS[2]=待对账集合, ARGV[1]=seed, ARGV[2]=scheduleId
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -2
+            end
+            local free = 64 - redis.call('BITCOUNT', KEYS[1])
+            if free <= 0 then
+                return -1
+            end
+            local k = tonumber(ARGV[1]) % free
+            for i = 0, 63 do
+                if redis.call('GETBIT', KEYS[1], i) == 0 then
+                    if k == 0 then
+                        redis.call('SETBIT', KEYS[1], i, 1)
+                        redis.call('SADD', KEYS[2], ARGV[2])
+                        return i
+                    end
+                    k = k - 1
+                end
+            end
+            return -1
+            """, Long.class);
+
+    /**
+     * 设置占用位
+     * KEYS[1]=位图Key, KEYS[2]=待对账集合, ARGV[1]=时段下标, ARGV[2]=scheduleId, ARGV[3]=0/1
+     */
+    private static final RedisScript<Long> MARK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('SETBIT', KEYS[1], ARGV[1], ARGV[3])
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * 空闲数
+     * KEYS[1]=位图Key
+     */
+    private static final RedisScript<Long> COUNT_FREE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -2
+            end
+            return 64 - redis.call('BITCOUNT', KEYS[1])
+            """, Long.class);
+
+    /**
+     * 第一个空闲位
+     * KEYS[1]=位图Key
+     */
+    private static final RedisScript<Long> FIRST_FREE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -2
+            end
+            local pos = redis.call('BITPOS', KEYS[1], 0)
+            if pos < 0 or pos >= 64 then
+                return -1
+            end
+            return pos
+            """, Long.class);
+
+    /**
+     * 指定位是否空闲
+     * KEYS[1]=位图Key, ARGV[1]=时段下标
+     */
+    private static final RedisScript<Long> IS_FREE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -2
+            end
+            return 1 - redis.call('GETBIT', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public boolean preload(ScheduleId scheduleId, long occupiedMask, int slotCount, Duration ttl) {
+        Long result = stringRedisTemplate.execute(PRELOAD_SCRIPT,
+                List.of(bitmapKey(scheduleId)),
+                toBits(occupiedMask, slotCount),
+                String.valueOf(Math.max(1, ttl.toSeconds())));
+        boolean loaded = result != null && result == 1L;
+        if (loaded) {
+            log.debug("预加载时段占用位图: scheduleId={}, slots={}, occupied={}",
+                    scheduleId.getValue(), slotCount, Long.bitCount(occupiedMask));
+        }
+        return loaded;
+    }
+
+    @Override
+    public void refresh(ScheduleId scheduleId, long occupiedMask, int slotCount) {
+        stringRedisTemplate.execute(REFRESH_SCRIPT,
+                List.of(bitmapKey(scheduleId)),
+                toBits(occupiedMask, slotCount));
+    }
+
+    @Override
+    public int reserve(ScheduleId scheduleId, int seed) {
+        Long result = stringRedisTemplate.execute(RESERVE_SCRIPT,
+                List.of(bitmapKey(scheduleId), RedisKeyConstants.SCHEDULE_SLOT_BITMAP_DIRTY),
+                String.valueOf(Math.max(seed, 0)),
+                String.valueOf(scheduleId.getValue()));
+        return result == null ? NOT_LOADED : result.intValue();
+    }
+
+    @Override
+    public boolean markSlot(ScheduleId scheduleId, int slotIndex, boolean occupied) {
+        if (slotIndex < 0 || slotIndex >= SlotOccupancy.MAX_SLOTS) {
+            throw new IllegalArgumentException("时段下标超出位图范围: " + slotIndex);
+        }
+        Long result = stringRedisTemplate.execute(MARK_SCRIPT,
+                List.of(bitmapKey(scheduleId), RedisKeyConstants.SCHEDULE_SLOT_BITMAP_DIRTY),
+                String.valueOf(slotIndex),
+                String.valueOf(scheduleId.getValue()),
+                occupied ? "1" : "0");
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public int countFree(ScheduleId scheduleId) {
+        Long result = stringRedisTemplate.execute(COUNT_FREE_SCRIPT, List.of(bitmapKey(scheduleId)));
+        return result == null ? NOT_LOADED : result.intValue();
+    }
+
+    @Override
+    public int firstFree(ScheduleId scheduleId) {
+        Long result = stringRedisTemplate.execute(FIRST_FREE_SCRIPT, List.of(bitmapKey(scheduleId)));
+        return result == null ? NOT_LOADED : result.intValue();
+    }
+
+    @Override
+    public int isFree(ScheduleId scheduleId, int slotIndex) {
+        Long result = stringRedisTemplate.execute(IS_FREE_SCRIPT,
+                List.of(bitmapKey(scheduleId)),
+                String.valueOf(slotIndex));
+        return result == null ? NOT_LOADED : result.intValue();
+    }
+
+    @Override
+    public Set<ScheduleId> drainDirty(int batchSize) {
+        List<String> scheduleIds = stringRedisTemplate.opsForSet()
+                .pop(RedisKeyConstants.SCHEDULE_SLOT_BITMAP_DIRTY, batchSize);
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<ScheduleId> result = new LinkedHashSet<>(scheduleIds.size() * 2);
+        for (String id : scheduleIds) {
+            result.add(ScheduleId.of(Long.valueOf(id)));
+        }
+        return result;
+    }
+
+    @Override
+    public void markDirty(Collection<ScheduleId> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return;
+        }
+        String[] ids = scheduleIds.stream()
+                .map(id -> String.valueOf(id.getValue()))
+                .toArray(String[]::new);
+        stringRedisTemplate.opsForSet().add(RedisKeyConstants.SCHEDULE_SLOT_BITMAP_DIRTY, ids);
+    }
+
+    /**
+     * 位图转位串：第 i 个字符对应第 i 位，超出时段数的位恒为 1
+     */
+    private static String toBits(long occupiedMask, int slotCount) {
+        if (slotCount < 0 || slotCount > SlotOccupancy.MAX_SLOTS) {
+            throw new IllegalArgumentException("时段数超出位图范围: " + slotCount);
+        }
+        char[] bits = new char[BITMAP_BITS];
+        for (int i = 0; i < BITMAP_BITS; i++) {
+            bits[i] = i >= slotCount || (occupiedMask & 1L << i) != 0 ? '1' : '0';
+        }
+        return new String(bits);
+    }
+
+    private static String bitmapKey(ScheduleId scheduleId) {
+        return RedisKeyConstants.SCHEDULE_SLOT_BITMAP + scheduleId.getValue();
+    }
+}
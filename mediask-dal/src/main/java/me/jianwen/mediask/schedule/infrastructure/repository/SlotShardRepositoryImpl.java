@@ -0,0 +1,145 @@
+package me.jianwen.mediask.schedule.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.dal.entity.ScheduleSlotShardDO;
+import me.jianwen.mediask.dal.enums.StatusEnum;
+import me.jianwen.mediask.dal.mapper.ScheduleSlotShardMapper;
+import me.jianwen.mediask.schedule.domain.repository.SlotShardRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleStatus;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotCapacity;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotShards;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分片号源计数仓储实现（schedule_slot_shards 表）
+ *
+ * @author jianwen
+ */
+@Repository
+@RequiredArgsConstructor
+public class SlotShardRepositoryImpl implements SlotShardRepository {
+
+    /**
+     * 可预约、可取消预约的排班的存储状态
+     * <p>
+     * 排班状态按 ScheduleConverter 存储：开放存储为正常，其余状态（含约满）均存储为停用，
+     * 因此条件更新只能按"正常"过滤，取值须使用存储码而不是 {@link ScheduleStatus} 的领域码。
+     * </p>
+     */
+    private static final List<Integer> APPOINTABLE_STATUSES = List.of(StatusEnum.ENABLED.getCode());
+
+    private static final List<Integer> CANCELABLE_STATUSES = APPOINTABLE_STATUSES;
+
+    /**
+     * 单条 INSERT 语句的最大行数，避免超过 max_allowed_packet
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final ScheduleSlotShardMapper shardMapper;
+
+    @Override
+    public void saveShards(ScheduleId scheduleId, SlotShards shards) {
+        saveShards(Map.of(scheduleId, shards));
+    }
+
+    @Override
+    public void saveShards(Map<ScheduleId, SlotShards> shardsBySchedule) {
+        if (shardsBySchedule == null || shardsBySchedule.isEmpty()) {
+            return;
+        }
+        List<Long> scheduleIds = shardsBySchedule.keySet().stream().map(ScheduleId::getValue).toList();
+        LambdaQueryWrapper<ScheduleSlotShardDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(ScheduleSlotShardDO::getScheduleId, scheduleIds);
+        shardMapper.delete(wrapper);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduleSlotShardDO> inserts = new ArrayList<>();
+        shardsBySchedule.forEach((scheduleId, shards) -> {
+            for (int shardNo = 0; shardNo < shards.size(); shardNo++) {
+                ScheduleSlotShardDO dataObject = new ScheduleSlotShardDO();
+                // 自定义 SQL 不经过 MetaObjectHandler 和 ID 生成器，预先填充
+                dataObject.setId(IdWorker.getId());
+                dataObject.setScheduleId(scheduleId.getValue());
+                dataObject.setShardNo(shardNo);
+                dataObject.setTotalSlots(shards.getTotalSlots(shardNo));
+                dataObject.setAvailableSlots(shards.getAvailableSlots(shardNo));
+                dataObject.setCreatedAt(now);
+                dataObject.setUpdatedAt(now);
+                inserts.add(dataObject);
+            }
+        });
+
+        for (int from = 0; from < inserts.size(); from += INSERT_BATCH_SIZE) {
+            shardMapper.insertBatch(inserts.subList(from, Math.min(from + INSERT_BATCH_SIZE, inserts.size())));
+        }
+    }
+
+    @Override
+    public int tryDecrease(ScheduleId scheduleId, int shardNo) {
+        ScheduleSlotShardDO shard = shardKey(scheduleId, shardNo);
+        return shardMapper.decreaseShard(shard, APPOINTABLE_STATUSES) == 1
+                ? shard.getAvailableSlots()
+                : SHARD_UNAVAILABLE;
+    }
+
+    @Override
+    public int tryIncrease(ScheduleId scheduleId, int shardNo) {
+        ScheduleSlotShardDO shard = shardKey(scheduleId, shardNo);
+        return shardMapper.increaseShard(shard, CANCELABLE_STATUSES) == 1
+                ? shard.getAvailableSlots()
+                : SHARD_UNAVAILABLE;
+    }
+
+    @Override
+    public SlotCapacity lockCapacity(ScheduleId scheduleId) {
+        List<ScheduleSlotShardDO> shards = shardMapper.selectForUpdate(scheduleId.getValue());
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("排班分片不存在: " + scheduleId.getValue());
+        }
+        int total = 0;
+        int available = 0;
+        for (ScheduleSlotShardDO shard : shards) {
+            total += shard.getTotalSlots();
+            available += shard.getAvailableSlots();
+        }
+        return new SlotCapacity(total, available);
+    }
+
+    @Override
+    public Map<ScheduleId, SlotCapacity> sumCapacity(Collection<ScheduleId> scheduleIds) {
+        if (scheduleIds == null || scheduleIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = scheduleIds.stream().map(ScheduleId::getValue).toList();
+        Map<ScheduleId, SlotCapacity> result = new HashMap<>(ids.size() * 2);
+        for (ScheduleSlotShardDO sum : shardMapper.sumBySchedules(ids)) {
+            result.put(ScheduleId.of(sum.getScheduleId()),
+                    new SlotCapacity(sum.getTotalSlots(), sum.getAvailableSlots()));
+        }
+        return result;
+    }
+
+    @Override
+    public void removeShards(ScheduleId scheduleId) {
+        LambdaQueryWrapper<ScheduleSlotShardDO> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ScheduleSlotShardDO::getScheduleId, scheduleId.getValue());
+        shardMapper.delete(wrapper);
+    }
+
+    private static ScheduleSlotShardDO shardKey(ScheduleId scheduleId, int shardNo) {
+        ScheduleSlotShardDO shard = new ScheduleSlotShardDO();
+        shard.setScheduleId(scheduleId.getValue());
+        shard.setShardNo(shardNo);
+        return shard;
+    }
+}
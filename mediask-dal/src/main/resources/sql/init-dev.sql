@@ -79,3 +79,144 @@ CREATE TABLE IF NOT EXISTS `role_permissions` (
   KEY `idx_role_permissions_role_id` (`role_id`),
   KEY `idx_role_permissions_permission_id` (`permission_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='角色权限关联表';
+
+-- =========================
+-- 医生排班表
+-- =========================
+
+CREATE TABLE IF NOT EXISTS `doctor_schedules` (
+  `id` BIGINT NOT NULL COMMENT '雪花ID',
+  `doctor_id` BIGINT NOT NULL COMMENT '医生ID',
+  `schedule_date` DATE NOT NULL COMMENT '排班日期',
+  `time_period` TINYINT NOT NULL COMMENT '时段 1-上午 2-下午 3-晚上',
+  `total_slots` INT NOT NULL COMMENT '总号源数',
+  `available_slots` INT NOT NULL COMMENT '剩余号源',
+  `status` TINYINT NOT NULL DEFAULT 1 COMMENT '状态 0-停用 1-正常',
+  `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_doctor_schedules_doctor_date` (`doctor_id`, `schedule_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='医生排班表';
+
+-- 增量列的幂等变更：MySQL 不支持 ADD COLUMN IF NOT EXISTS，按 information_schema 判断后再执行
+DROP PROCEDURE IF EXISTS `add_column_if_absent`;
+DELIMITER $$
+CREATE PROCEDURE `add_column_if_absent`(IN p_table VARCHAR(64), IN p_column VARCHAR(64), IN p_definition VARCHAR(512))
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+                 WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND COLUMN_NAME = p_column) THEN
+    SET @ddl = CONCAT('ALTER TABLE `', p_table, '` ADD COLUMN `', p_column, '` ', p_definition);
+    PREPARE stmt FROM @ddl;
+    EXECUTE stmt;
+    DEALLOCATE PREPARE stmt;
+  END IF;
+END$$
+DELIMITER ;
+
+-- =========================
+-- 排班号源分片计数
+-- =========================
+
+CALL add_column_if_absent('doctor_schedules', 'slot_shard_count',
+  'TINYINT NOT NULL DEFAULT 1 COMMENT ''号源分片数 1-不分片'' AFTER `available_slots`');
+
+CREATE TABLE IF NOT EXISTS `schedule_slot_shards` (
+  `id` BIGINT NOT NULL COMMENT '雪花ID',
+  `schedule_id` BIGINT NOT NULL COMMENT '排班ID',
+  `shard_no` TINYINT NOT NULL COMMENT '分片序号',
+  `total_slots` INT NOT NULL COMMENT '分片总号源数',
+  `available_slots` INT NOT NULL COMMENT '分片剩余号源',
+  `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_schedule_shard` (`schedule_id`, `shard_no`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='排班号源分片表';
+
+-- =========================
+-- 节假日日历
+-- =========================
+
+CREATE TABLE IF NOT EXISTS `holiday_calendar` (
+  `id` BIGINT NOT NULL COMMENT '雪花ID',
+  `calendar_date` DATE NOT NULL COMMENT '日期',
+  `day_type` TINYINT NOT NULL COMMENT '日期类型 1-法定节假日 2-调休工作日',
+  `holiday_name` VARCHAR(64) DEFAULT NULL COMMENT '节日名称',
+  `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_holiday_calendar_date` (`calendar_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='节假日日历表';
+
+-- =========================
+-- 过期排班清理
+-- =========================
+
+-- 索引的幂等变更：按 information_schema 判断后再执行
+DROP PROCEDURE IF EXISTS `add_index_if_absent`;
+DELIMITER $$
+CREATE PROCEDURE `add_index_if_absent`(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS
+                 WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND INDEX_NAME = p_index) THEN
+    SET @ddl = CONCAT('ALTER TABLE `', p_table, '` ADD INDEX `', p_index, '` (', p_columns, ')');
+    PREPARE stmt FROM @ddl;
+    EXECUTE stmt;
+    DEALLOCATE PREPARE stmt;
+  END IF;
+END$$
+DELIMITER ;
+
+-- 键集分页按 (schedule_date, id) 遍历，InnoDB 二级索引隐含主键列
+CALL add_index_if_absent('doctor_schedules', 'idx_schedule_date', '`schedule_date`');
+DROP PROCEDURE IF EXISTS `add_index_if_absent`;
+
+-- =========================
+-- 排班号源时长与时段占用位图
+-- =========================
+
+CALL add_column_if_absent('doctor_schedules', 'slot_duration_minutes',
+  'SMALLINT NOT NULL DEFAULT 15 COMMENT ''每个号源的就诊时长（分钟）'' AFTER `slot_shard_count`');
+CALL add_column_if_absent('doctor_schedules', 'occupied_slots',
+  'BIGINT NOT NULL DEFAULT 0 COMMENT ''已占用时段位图 第i位对应第i个时段'' AFTER `slot_duration_minutes`');
+
+-- 按时段行回填占用位图（可重复执行）：时段按开始时间排序后的序号即位下标，只取前 64 个时段
+UPDATE `doctor_schedules` ds
+  JOIN (SELECT ranked.schedule_id,
+               CAST(BIT_OR(IF(ranked.is_occupied = 1, 1 << ranked.slot_index, 0)) AS SIGNED) AS occupied_mask
+        FROM (SELECT schedule_id, is_occupied,
+                     ROW_NUMBER() OVER (PARTITION BY schedule_id ORDER BY slot_time) - 1 AS slot_index
+              FROM `appointment_slots`) ranked
+        WHERE ranked.slot_index < 64
+        GROUP BY ranked.schedule_id) occ ON occ.schedule_id = ds.id
+SET ds.occupied_slots = occ.occupied_mask;
+
+-- =========================
+-- 锁防护令牌
+-- =========================
+
+-- 加锁抢占时先推进 APPT_CREATE 锁的防护令牌，令牌不大于已记录值的旧持有者被拒绝
+CALL add_column_if_absent('doctor_schedules', 'fencing_token',
+  'BIGINT NOT NULL DEFAULT 0 COMMENT ''最近一次加锁抢占的锁防护令牌'' AFTER `occupied_slots`');
+
+-- =========================
+-- 领域事件发件箱
+-- =========================
+
+CREATE TABLE IF NOT EXISTS `outbox_events` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '自增ID，中继按此顺序投递，同时作为消息去重键',
+  `aggregate_type` VARCHAR(64) NOT NULL COMMENT '聚合类型',
+  `aggregate_id` VARCHAR(64) NOT NULL COMMENT '聚合ID，消息按此分区保证同一聚合有序',
+  `event_type` VARCHAR(128) NOT NULL COMMENT '事件类型',
+  `payload` TEXT NOT NULL COMMENT '事件内容 JSON',
+  `occurred_at` DATETIME(3) NOT NULL COMMENT '事件发生时间',
+  `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态 0-待投递 1-已投递 2-投递失败（超过重试次数）',
+  `attempts` INT NOT NULL DEFAULT 0 COMMENT '失败次数',
+  `last_error` VARCHAR(512) DEFAULT NULL COMMENT '最近一次投递失败原因',
+  `created_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '写入时间',
+  `published_at` DATETIME(3) DEFAULT NULL COMMENT '投递时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_outbox_status_id` (`status`, `id`),
+  KEY `idx_outbox_published_at` (`published_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='领域事件发件箱表';
+
+DROP PROCEDURE IF EXISTS `add_column_if_absent`;
@@ -56,12 +56,19 @@ public class AppointmentSlot {
      * 创建空闲时段
      */
     public static AppointmentSlot createAvailable(ScheduleId scheduleId, TimeSlot timeSlot) {
+        return createAvailable(scheduleId, timeSlot, LocalDateTime.now());
+    }
+
+    /**
+     * 创建空闲时段（批量生成时共用同一创建时间）
+     */
+    public static AppointmentSlot createAvailable(ScheduleId scheduleId, TimeSlot timeSlot, LocalDateTime now) {
         AppointmentSlot slot = new AppointmentSlot();
         slot.setScheduleId(scheduleId);
         slot.setTimeSlot(timeSlot);
         slot.setOccupied(false);
-        slot.setCreatedAt(LocalDateTime.now());
-        slot.setUpdatedAt(LocalDateTime.now());
+        slot.setCreatedAt(now);
+        slot.setUpdatedAt(now);
         return slot;
     }
 
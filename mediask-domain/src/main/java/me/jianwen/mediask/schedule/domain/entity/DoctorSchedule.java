@@ -63,6 +63,16 @@ public class DoctorSchedule {
      */
     private int slotDurationMinutes;
 
+    /**
+     * 号源分片数（1 表示不分片，直接使用 capacity 计数）
+     */
+    private int slotShardCount = 1;
+
+    /**
+     * 已占用时段位图（第 i 位对应时间片布局中的第 i 个时段）
+     */
+    private long occupiedSlots;
+
     /**
      * 创建时间
      */
@@ -90,6 +100,10 @@ public class DoctorSchedule {
             int totalSlots,
             int slotDurationMinutes) {
 
+        if (SlotLayout.of(timePeriod, slotDurationMinutes).size() > SlotOccupancy.MAX_SLOTS) {
+            throw new IllegalArgumentException("号源时长过短，单个时段最多 " + SlotOccupancy.MAX_SLOTS + " 个号");
+        }
+
         DoctorSchedule schedule = new DoctorSchedule();
         schedule.setDoctorId(doctorId);
         schedule.setScheduleDate(scheduleDate);
@@ -256,6 +270,37 @@ public class DoctorSchedule {
         }
     }
 
+    /**
+     * 启用分片计数：号源拆分到多个子计数器，预约只更新其中一个
+     * 仅允许在尚无预约时开启
+     */
+    public void enableSlotSharding(int shardCount) {
+        if (shardCount <= 1) {
+            throw new IllegalArgumentException("分片数必须大于1: " + shardCount);
+        }
+        if (capacity.getUsedSlots() > 0) {
+            throw new IllegalStateException("已有预约的排班不能开启分片计数");
+        }
+        this.slotShardCount = shardCount;
+    }
+
+    /**
+     * 是否使用分片计数
+     */
+    public boolean isSlotSharded() {
+        return slotShardCount > 1;
+    }
+
+    /**
+     * 按当前容量拆分号源分片
+     */
+    public SlotShards splitSlotShards() {
+        if (!isSlotSharded()) {
+            throw new IllegalStateException("排班未开启分片计数");
+        }
+        return SlotShards.split(capacity, slotShardCount);
+    }
+
     /**
      * 检查是否在可预约时间范围内
      * 业务规则：只能预约未来7天内的号
@@ -275,20 +320,31 @@ public class DoctorSchedule {
 
     /**
      * 生成时间片列表
-     * 根据时段和每个号源的时长，生成具体的时间片
+     * 根据时段和每个号源的时长，生成具体的时间片（只读，时间片实例在相同布局间共享）
      */
     public List<TimeSlot> generateTimeSlots() {
-        List<TimeSlot> timeSlots = new ArrayList<>();
-        LocalTime currentTime = timePeriod.getStartTime();
-        LocalTime endTime = timePeriod.getEndTime();
-
-        while (currentTime.plusMinutes(slotDurationMinutes).isBefore(endTime)
-                || currentTime.plusMinutes(slotDurationMinutes).equals(endTime)) {
-            timeSlots.add(TimeSlot.of(currentTime, slotDurationMinutes));
-            currentTime = currentTime.plusMinutes(slotDurationMinutes);
-        }
+        return slotLayout().getTimeSlots();
+    }
 
-        return timeSlots;
+    /**
+     * 获取时间片布局（非 getter 命名，避免接口返回排班时被序列化）
+     */
+    public SlotLayout slotLayout() {
+        return SlotLayout.of(timePeriod, slotDurationMinutes);
+    }
+
+    /**
+     * 实际生成的时段数（不超过布局大小和总号源数）
+     */
+    public int slotCount() {
+        return Math.min(slotLayout().size(), capacity.getTotalSlots());
+    }
+
+    /**
+     * 获取时段占用位图
+     */
+    public SlotOccupancy slotOccupancy() {
+        return SlotOccupancy.of(slotLayout(), slotCount(), occupiedSlots);
     }
 
     // ============ 领域事件管理 ============
@@ -14,6 +14,9 @@ import java.time.LocalDateTime;
 public class ScheduleSlotDecreasedEvent {
 
     ScheduleId scheduleId;
+    /**
+     * 剩余号源数（分片计数的排班为下界），0 表示已约满
+     */
     int remainingSlots;
     LocalDateTime occurredOn;
 
@@ -0,0 +1,61 @@
+package me.jianwen.mediask.schedule.domain.event;
+
+import lombok.Value;
+import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 排班批量创建事件（进程内）
+ * <p>
+ * 同一事务内创建的多个排班合并为一条事件，只保留去重后的（日期, 时段）和医生，
+ * 监听器按去重结果处理一次，而不是每个排班处理一次；发件箱仍按排班写入 {@link ScheduleCreatedEvent}。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Value
+public class SchedulesCreatedEvent {
+
+    Set<DatePeriod> datePeriods;
+    Set<DoctorId> doctorIds;
+    int scheduleCount;
+    LocalDateTime occurredOn;
+
+    private SchedulesCreatedEvent(Set<DatePeriod> datePeriods, Set<DoctorId> doctorIds, int scheduleCount) {
+        this.datePeriods = datePeriods;
+        this.doctorIds = doctorIds;
+        this.scheduleCount = scheduleCount;
+        this.occurredOn = LocalDateTime.now();
+    }
+
+    /**
+     * 合并一批排班创建事件
+     */
+    public static SchedulesCreatedEvent of(Collection<ScheduleCreatedEvent> events) {
+        Set<DatePeriod> datePeriods = new LinkedHashSet<>();
+        Set<DoctorId> doctorIds = new LinkedHashSet<>();
+        for (ScheduleCreatedEvent event : events) {
+            datePeriods.add(new DatePeriod(event.getScheduleDate(), event.getTimePeriod()));
+            doctorIds.add(event.getDoctorId());
+        }
+        return new SchedulesCreatedEvent(
+                Collections.unmodifiableSet(datePeriods), Collections.unmodifiableSet(doctorIds), events.size());
+    }
+
+    /**
+     * 排班日期和时段
+     */
+    @Value
+    public static class DatePeriod {
+
+        LocalDate scheduleDate;
+        TimePeriod timePeriod;
+    }
+}
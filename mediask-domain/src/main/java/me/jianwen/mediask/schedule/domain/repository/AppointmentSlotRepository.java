@@ -45,11 +45,43 @@ public interface AppointmentSlotRepository {
      */
     Optional<AppointmentSlot> findByScheduleAndTime(ScheduleId scheduleId, LocalTime startTime);
 
+    /**
+     * 按下标查询排班的时段（下标为时段按开始时间排序后的序号，与占用位图的位一致）
+     */
+    Optional<AppointmentSlot> findByScheduleAndIndex(ScheduleId scheduleId, int slotIndex);
+
+    /**
+     * 查询时段在排班中的下标
+     */
+    int findSlotIndex(ScheduleId scheduleId, LocalTime startTime);
+
     /**
      * 统计排班的可用时段数
      */
     long countAvailableBySchedule(ScheduleId scheduleId);
 
+    /**
+     * 条件占用时段（时段空闲时才成功，不依赖分布式锁）
+     *
+     * @return true=占用成功, false=时段已被占用
+     */
+    boolean tryOccupy(Long slotId, Long appointmentId);
+
+    /**
+     * 带锁防护令牌条件占用时段（时段空闲且排班行上的令牌仍为本次令牌时才成功）
+     * 需与 {@link DoctorScheduleRepository#advanceFencingToken} 在同一事务内调用
+     *
+     * @return true=占用成功, false=时段已被占用或令牌已过期
+     */
+    boolean tryOccupy(Long slotId, Long appointmentId, ScheduleId scheduleId, long fencingToken);
+
+    /**
+     * 条件释放时段（仅当由该预约占用时成功）
+     *
+     * @return true=释放成功, false=时段未被该预约占用
+     */
+    boolean tryRelease(Long slotId, Long appointmentId);
+
     /**
      * 删除排班的所有时段
      */
@@ -0,0 +1,22 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+
+import java.util.List;
+
+/**
+ * 医生查询仓储接口（排班上下文只读视图）
+ *
+ * @author jianwen
+ */
+public interface DoctorQueryRepository {
+
+    /**
+     * 查询可排班（启用中）的医生
+     *
+     * @param hospitalId 医院ID
+     * @param deptId     科室ID，为空时查询整个医院
+     * @return 医生ID列表（按ID升序）
+     */
+    List<DoctorId> findSchedulableDoctors(Long hospitalId, Long deptId);
+}
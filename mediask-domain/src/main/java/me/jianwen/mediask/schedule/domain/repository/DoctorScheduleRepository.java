@@ -2,11 +2,14 @@ package me.jianwen.mediask.schedule.domain.repository;
 
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
 import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleCursor;
 import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
 import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,6 +34,13 @@ public interface DoctorScheduleRepository {
      */
     Optional<DoctorSchedule> findById(ScheduleId scheduleId);
 
+    /**
+     * 查询排班创建时确定的号源分片数（只读一列，不汇总分片容量）
+     *
+     * @return 分片数，1 表示不分片；排班不存在时返回空
+     */
+    Optional<Integer> findSlotShardCount(ScheduleId scheduleId);
+
     /**
      * 查询医生在指定日期和时段的排班
      */
@@ -59,6 +69,13 @@ public interface DoctorScheduleRepository {
             LocalDate scheduleDate,
             TimePeriod timePeriod);
 
+    /**
+     * 查询日期范围内的所有开放排班（按日期、时段升序）
+     */
+    List<DoctorSchedule> findOpenSchedulesByDateRange(
+            LocalDate startDate,
+            LocalDate endDate);
+
     /**
      * 检查排班是否存在
      */
@@ -69,6 +86,60 @@ public interface DoctorScheduleRepository {
      */
     List<DoctorSchedule> findExpiredSchedules(LocalDate beforeDate);
 
+    /**
+     * 推进排班行上的锁防护令牌（需在事务内调用，排班行锁持有到事务结束）
+     * 令牌不大于已记录的令牌时拒绝（租约过期后的旧锁持有者）
+     *
+     * @param fencingToken 锁防护令牌
+     * @return 是否推进成功，false 表示令牌已过期
+     */
+    boolean advanceFencingToken(ScheduleId scheduleId, long fencingToken);
+
+    /**
+     * 批量回写时段占用位图（位图对账）
+     *
+     * @param occupiedSlots 排班ID -> 占用位图
+     */
+    void syncOccupiedSlots(Map<ScheduleId, Long> occupiedSlots);
+
+    /**
+     * 按 (排班日期, 排班ID) 顺序查询一批待过期排班的位置
+     *
+     * @param beforeDate 排班日期上限（不含）
+     * @param after      起始游标（不含），null 表示从头开始
+     * @param limit      最大条数
+     */
+    List<ScheduleCursor> findExpiredScheduleKeys(LocalDate beforeDate, ScheduleCursor after, int limit);
+
+    /**
+     * 批量标记排班为已过期（一条 UPDATE，已过期的排班不重复更新）
+     *
+     * @return 实际更新条数
+     */
+    int markExpired(List<ScheduleId> scheduleIds);
+
+    /**
+     * 批量回写剩余号源数（库存异步对账）
+     *
+     * @param availableSlots 排班ID -> 剩余号源数
+     */
+    void syncAvailableSlots(Map<ScheduleId, Integer> availableSlots);
+
+    /**
+     * 在数据库归还一个号源（停诊、已过期等不再加载内存库存的排班取消预约时调用）
+     *
+     * @return 是否归还成功，false 表示号源已满或排班已恢复为可加载内存库存的状态
+     */
+    boolean restoreUnloadedSlot(ScheduleId scheduleId);
+
+    /**
+     * 对一批排班加行锁（SELECT ... FOR UPDATE，需在事务内调用）
+     * <p>
+     * 库存对账先锁行再读取内存库存，与停诊、调整号源等管理操作的事务串行，避免旧值覆盖管理操作的写入。
+     * </p>
+     */
+    void lockForUpdate(Collection<ScheduleId> scheduleIds);
+
     /**
      * 删除排班
      */
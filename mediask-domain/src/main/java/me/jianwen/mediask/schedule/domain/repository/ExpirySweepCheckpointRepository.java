@@ -0,0 +1,29 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleCursor;
+
+import java.util.Optional;
+
+/**
+ * 过期排班清理检查点仓储接口
+ * 记录最后一个已提交分块的位置，清理中断后从该位置继续
+ *
+ * @author jianwen
+ */
+public interface ExpirySweepCheckpointRepository {
+
+    /**
+     * 读取检查点
+     */
+    Optional<ScheduleCursor> load();
+
+    /**
+     * 保存检查点
+     */
+    void save(ScheduleCursor cursor);
+
+    /**
+     * 清除检查点（一轮清理完成后调用）
+     */
+    void clear();
+}
@@ -0,0 +1,18 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.HolidayDay;
+
+import java.util.List;
+
+/**
+ * 节假日日历仓储接口
+ *
+ * @author jianwen
+ */
+public interface HolidayRepository {
+
+    /**
+     * 查询全部节假日和调休工作日
+     */
+    List<HolidayDay> findAll();
+}
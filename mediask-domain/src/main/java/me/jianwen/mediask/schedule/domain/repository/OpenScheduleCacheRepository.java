@@ -0,0 +1,47 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.OpenScheduleSnapshot;
+import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * 可预约排班列表共享缓存仓储接口
+ * <p>
+ * 按（日期, 时段, 范围）缓存可预约排班列表，同一（日期, 时段）下的所有范围一起失效；
+ * 失效时通知所有实例，便于各实例同步清除本地缓存。
+ * </p>
+ *
+ * @author jianwen
+ */
+public interface OpenScheduleCacheRepository {
+
+    /**
+     * 读取缓存的排班列表快照
+     *
+     * @param scope 范围（全部 / 医院:科室）
+     * @return 未命中时返回空
+     */
+    Optional<OpenScheduleSnapshot> get(LocalDate scheduleDate, TimePeriod timePeriod, String scope);
+
+    /**
+     * 写入排班列表快照
+     *
+     * @param ttl 物理有效期（每次写入都会延长同一日期时段下所有列表的有效期，是否过期以快照的逻辑过期时间为准）
+     */
+    void put(LocalDate scheduleDate, TimePeriod timePeriod, String scope,
+             OpenScheduleSnapshot snapshot, Duration ttl);
+
+    /**
+     * 清除（日期, 时段）下所有范围的列表，并通知所有实例
+     */
+    void evict(LocalDate scheduleDate, TimePeriod timePeriod);
+
+    /**
+     * 订阅失效通知（包括本实例发出的通知）
+     */
+    void subscribeEvictions(BiConsumer<LocalDate, TimePeriod> listener);
+}
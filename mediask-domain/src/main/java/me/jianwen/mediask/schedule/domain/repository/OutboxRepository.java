@@ -0,0 +1,19 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * 领域事件发件箱仓储接口
+ * 与业务数据在同一事务中写入，提交后由中继异步投递到消息总线
+ *
+ * @author jianwen
+ */
+public interface OutboxRepository {
+
+    /**
+     * 批量写入事件（单条多行 INSERT，按列表顺序分配递增ID）
+     */
+    void appendAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,108 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 排班号源库存仓储接口
+ * <p>
+ * 预约高峰期号源扣减走内存库存（如 Redis），不直接访问数据库；
+ * 库存变化异步回写到 doctor_schedules.available_slots。
+ * </p>
+ *
+ * @author jianwen
+ */
+public interface ScheduleInventoryRepository {
+
+    /**
+     * 扣减结果：号源已满
+     */
+    int SOLD_OUT = -1;
+
+    /**
+     * 扣减结果：库存未加载
+     */
+    int NOT_LOADED = -2;
+
+    /**
+     * 扣减结果：库存已冻结（管理操作进行中）
+     */
+    int FROZEN = -3;
+
+    /**
+     * 预加载库存（已存在时不覆盖）
+     *
+     * @param scheduleId     排班ID
+     * @param availableSlots 剩余号源数
+     * @param totalSlots     总号源数
+     * @param ttl            库存有效期
+     * @return true=本次写入, false=库存已存在
+     */
+    boolean preload(ScheduleId scheduleId, int availableSlots, int totalSlots, Duration ttl);
+
+    /**
+     * 原子扣减一个号源
+     *
+     * @return 扣减后剩余号源数；{@link #SOLD_OUT}、{@link #NOT_LOADED} 或 {@link #FROZEN}
+     */
+    int tryDeduct(ScheduleId scheduleId);
+
+    /**
+     * 原子归还一个号源（不超过总号源数）
+     *
+     * @return 归还后剩余号源数；{@link #SOLD_OUT} 表示已满额无需归还，{@link #NOT_LOADED} 表示库存未加载，
+     * {@link #FROZEN} 表示库存已冻结
+     */
+    int restore(ScheduleId scheduleId);
+
+    /**
+     * 冻结库存：之后的扣减、归还返回 {@link #FROZEN}，也不会重新加载，直到 {@link #evict} 或 {@link #unfreeze}
+     * <p>
+     * 冻结标记独立存储，库存未加载时同样阻止并发请求按数据库旧值加载；冻结标记在 maxFrozen 后自动过期（兜底）。
+     * 冻结值由调用方写回数据库，因此同时移出待回写集合。
+     * </p>
+     *
+     * @param maxFrozen 最长冻结时间
+     * @return 冻结时的剩余号源数，库存未加载时返回 null
+     */
+    Integer freeze(ScheduleId scheduleId, Duration maxFrozen);
+
+    /**
+     * 解除冻结（管理操作回滚时调用，保留冻结前的扣减并重新标记为待回写）
+     */
+    void unfreeze(ScheduleId scheduleId);
+
+    /**
+     * 移除库存（停诊、调整号源提交后调用，之后的请求按数据库最新状态重新加载）
+     *
+     * @return 移除前的剩余号源数，库存未加载时返回 null
+     */
+    Integer evict(ScheduleId scheduleId);
+
+    /**
+     * 取出一批待回写的排班ID
+     *
+     * @param batchSize 最大条数
+     * @return 排班ID列表
+     */
+    List<ScheduleId> drainDirty(int batchSize);
+
+    /**
+     * 批量读取当前剩余号源数
+     * <p>
+     * 库存已移除或已冻结的排班不返回（以数据库或管理操作的回写为准）。
+     * </p>
+     *
+     * @return 排班ID -> 当前剩余号源数
+     */
+    Map<ScheduleId, Integer> snapshot(Collection<ScheduleId> scheduleIds);
+
+    /**
+     * 重新标记为待回写（回写失败时调用，避免丢失变化）
+     */
+    void markDirty(Collection<ScheduleId> scheduleIds);
+}
@@ -0,0 +1,93 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 排班时段占用位图仓储接口
+ * <p>
+ * 每个排班的时段占用以位图形式放在内存存储（如 Redis）中，查找空闲时段、统计空闲数、
+ * 判断某个时段是否空闲均为位运算；appointment_slots 仍是占用状态的准据，位图变化后标记待对账，
+ * 由对账任务按时段行重建。
+ * </p>
+ *
+ * @author jianwen
+ */
+public interface SlotOccupancyRepository {
+
+    /**
+     * 结果：没有空闲时段
+     */
+    int NO_FREE_SLOT = -1;
+
+    /**
+     * 结果：位图未加载
+     */
+    int NOT_LOADED = -2;
+
+    /**
+     * 预加载位图（已存在时不覆盖）
+     *
+     * @param scheduleId   排班ID
+     * @param occupiedMask 占用位图（第 i 位对应第 i 个时段）
+     * @param slotCount    时段数
+     * @param ttl          位图有效期
+     * @return true=本次写入, false=位图已存在
+     */
+    boolean preload(ScheduleId scheduleId, long occupiedMask, int slotCount, Duration ttl);
+
+    /**
+     * 用准据数据覆盖已加载的位图（保留原有效期，未加载时不写入）
+     */
+    void refresh(ScheduleId scheduleId, long occupiedMask, int slotCount);
+
+    /**
+     * 随机预占一个空闲时段（在空闲时段中均匀选取，原子置位）
+     *
+     * @param seed 随机数，用于选择第几个空闲时段
+     * @return 时段下标；{@link #NO_FREE_SLOT} 或 {@link #NOT_LOADED}
+     */
+    int reserve(ScheduleId scheduleId, int seed);
+
+    /**
+     * 设置时段占用位
+     *
+     * @param occupied true=置位, false=清除
+     * @return false=位图未加载
+     */
+    boolean markSlot(ScheduleId scheduleId, int slotIndex, boolean occupied);
+
+    /**
+     * 空闲时段数
+     *
+     * @return 空闲数；{@link #NOT_LOADED}
+     */
+    int countFree(ScheduleId scheduleId);
+
+    /**
+     * 第一个空闲时段
+     *
+     * @return 时段下标；{@link #NO_FREE_SLOT} 或 {@link #NOT_LOADED}
+     */
+    int firstFree(ScheduleId scheduleId);
+
+    /**
+     * 时段是否空闲
+     *
+     * @return 1=空闲, 0=已占用；{@link #NOT_LOADED}
+     */
+    int isFree(ScheduleId scheduleId, int slotIndex);
+
+    /**
+     * 取出一批待对账的排班
+     */
+    Set<ScheduleId> drainDirty(int batchSize);
+
+    /**
+     * 重新标记为待对账（对账失败时调用）
+     */
+    void markDirty(Collection<ScheduleId> scheduleIds);
+}
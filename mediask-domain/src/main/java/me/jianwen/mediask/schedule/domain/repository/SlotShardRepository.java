@@ -0,0 +1,64 @@
+package me.jianwen.mediask.schedule.domain.repository;
+
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotCapacity;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotShards;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 分片号源计数仓储接口
+ *
+ * @author jianwen
+ */
+public interface SlotShardRepository {
+
+    /**
+     * 扣减或归还失败：分片已无剩余/已满额，或排班状态不允许
+     */
+    int SHARD_UNAVAILABLE = -1;
+
+    /**
+     * 写入排班的全部分片（覆盖已有分片）
+     */
+    void saveShards(ScheduleId scheduleId, SlotShards shards);
+
+    /**
+     * 批量写入多个排班的全部分片（覆盖已有分片，一条多行 INSERT）
+     *
+     * @param shardsBySchedule 排班ID -> 分片
+     */
+    void saveShards(Map<ScheduleId, SlotShards> shardsBySchedule);
+
+    /**
+     * 在指定分片上扣减一个号源（排班须可预约且未过期）
+     *
+     * @return 扣减后该分片的剩余号源数，{@link #SHARD_UNAVAILABLE} 表示该分片已无剩余或排班不可预约
+     */
+    int tryDecrease(ScheduleId scheduleId, int shardNo);
+
+    /**
+     * 在指定分片上归还一个号源（排班须可取消且未过期）
+     *
+     * @return 归还后该分片的剩余号源数，{@link #SHARD_UNAVAILABLE} 表示该分片已满额或排班不可取消
+     */
+    int tryIncrease(ScheduleId scheduleId, int shardNo);
+
+    /**
+     * 锁定排班的全部分片并返回汇总容量（需在事务内调用）
+     */
+    SlotCapacity lockCapacity(ScheduleId scheduleId);
+
+    /**
+     * 批量汇总分片容量
+     *
+     * @return 排班ID -> 汇总容量（无分片的排班不返回）
+     */
+    Map<ScheduleId, SlotCapacity> sumCapacity(Collection<ScheduleId> scheduleIds);
+
+    /**
+     * 删除排班的全部分片
+     */
+    void removeShards(ScheduleId scheduleId);
+}
@@ -0,0 +1,142 @@
+package me.jianwen.mediask.schedule.domain.rule;
+
+import me.jianwen.mediask.schedule.domain.service.HolidayCalendar;
+import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 编译后的排班规则（不可变）
+ * <p>
+ * 生效日期范围、星期掩码、节假日和调休工作日在编译时合并为按年缓存的位图（下标为 dayOfYear - 1），
+ * 判断某天是否生效是一次位查询，遍历日期范围是一次位扫描；同一规则可被多个医生、多个线程共享。
+ * </p>
+ *
+ * @author jianwen
+ */
+public final class CompiledScheduleRule {
+
+    /**
+     * 周一至周五的星期掩码
+     */
+    private static final int WEEKDAYS_MASK = 0b0011111;
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int weekdayMask;
+    private final Set<TimePeriod> periods;
+    private final int slotsPerPeriod;
+    private final int slotDurationMinutes;
+    private final boolean excludeHolidays;
+    private final HolidayCalendar holidayCalendar;
+
+    /**
+     * 年份 -> 生效日位图
+     */
+    private final Map<Integer, BitSet> yearBitmaps = new ConcurrentHashMap<>();
+
+    CompiledScheduleRule(ScheduleRule rule, HolidayCalendar holidayCalendar) {
+        this.startDate = rule.getEffectiveStartDate();
+        this.endDate = rule.getEffectiveEndDate();
+        int mask = 0;
+        for (DayOfWeek dayOfWeek : rule.getEffectiveDaysOfWeek()) {
+            mask |= 1 << (dayOfWeek.getValue() - 1);
+        }
+        this.weekdayMask = mask;
+        this.periods = rule.getEffectivePeriods() == null || rule.getEffectivePeriods().isEmpty()
+                ? Set.of()
+                : Collections.unmodifiableSet(EnumSet.copyOf(rule.getEffectivePeriods()));
+        this.slotsPerPeriod = rule.getSlotsPerPeriod();
+        this.slotDurationMinutes = rule.getSlotDurationMinutes();
+        this.excludeHolidays = rule.isExcludeHolidays();
+        this.holidayCalendar = holidayCalendar == null ? HolidayCalendar.NONE : holidayCalendar;
+    }
+
+    /**
+     * 是否在指定日期生效
+     */
+    public boolean isEffectiveOn(LocalDate date) {
+        if (date.isBefore(startDate) || date.isAfter(endDate)) {
+            return false;
+        }
+        return bitmapOf(date.getYear()).get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * 按日期顺序遍历 [from, to] 内的生效日期
+     */
+    public void forEachEffectiveDate(LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        LocalDate first = from.isBefore(startDate) ? startDate : from;
+        LocalDate last = to.isAfter(endDate) ? endDate : to;
+        for (int year = first.getYear(); year <= last.getYear(); year++) {
+            BitSet bitmap = bitmapOf(year);
+            int fromIndex = year == first.getYear() ? first.getDayOfYear() - 1 : 0;
+            int toIndex = year == last.getYear() ? last.getDayOfYear() : Year.of(year).length();
+            for (int i = bitmap.nextSetBit(fromIndex); i >= 0 && i < toIndex; i = bitmap.nextSetBit(i + 1)) {
+                action.accept(LocalDate.ofYearDay(year, i + 1));
+            }
+        }
+    }
+
+    public Set<TimePeriod> getPeriods() {
+        return periods;
+    }
+
+    public int getSlotsPerPeriod() {
+        return slotsPerPeriod;
+    }
+
+    public int getSlotDurationMinutes() {
+        return slotDurationMinutes;
+    }
+
+    private BitSet bitmapOf(int year) {
+        return yearBitmaps.computeIfAbsent(year, this::compileYear);
+    }
+
+    private BitSet compileYear(int year) {
+        int days = Year.of(year).length();
+        BitSet bitmap = new BitSet(days);
+
+        // 星期掩码：从每个生效星期的首日开始，每隔 7 天置位
+        int firstDayOfWeek = LocalDate.of(year, 1, 1).getDayOfWeek().getValue() - 1;
+        for (int weekday = 0; weekday < 7; weekday++) {
+            if ((weekdayMask & (1 << weekday)) == 0) {
+                continue;
+            }
+            for (int i = Math.floorMod(weekday - firstDayOfWeek, 7); i < days; i += 7) {
+                bitmap.set(i);
+            }
+        }
+
+        if (excludeHolidays) {
+            // 按法定工作日出诊：节假日停诊；覆盖周一至周五的规则在调休工作日补班
+            bitmap.andNot(holidayCalendar.holidaysOf(year));
+            if ((weekdayMask & WEEKDAYS_MASK) == WEEKDAYS_MASK) {
+                bitmap.or(holidayCalendar.makeupWorkdaysOf(year));
+            }
+        }
+
+        // 生效日期范围
+        if (startDate.getYear() == year) {
+            bitmap.clear(0, startDate.getDayOfYear() - 1);
+        } else if (startDate.getYear() > year) {
+            bitmap.clear();
+        }
+        if (endDate.getYear() == year) {
+            bitmap.clear(endDate.getDayOfYear(), days);
+        } else if (endDate.getYear() < year) {
+            bitmap.clear();
+        }
+        return bitmap;
+    }
+}
@@ -1,10 +1,12 @@
 package me.jianwen.mediask.schedule.domain.rule;
 
 import lombok.Data;
+import me.jianwen.mediask.schedule.domain.service.HolidayCalendar;
 import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -54,30 +56,51 @@ public class ScheduleRule {
 
     /**
      * 检查规则是否在指定日期生效
+     * 与 {@link CompiledScheduleRule#isEffectiveOn} 判断一致：排除节假日时节假日停诊，
+     * 覆盖周一至周五的规则在调休工作日补班
+     *
+     * @param holidayCalendar 节假日日历，excludeHolidays 为 true 时生效
      */
-    public boolean isEffectiveOn(LocalDate date) {
+    public boolean isEffectiveOn(LocalDate date, HolidayCalendar holidayCalendar) {
         // 检查日期范围
         if (date.isBefore(effectiveStartDate) || date.isAfter(effectiveEndDate)) {
             return false;
         }
 
-        // 检查星期几
-        if (!effectiveDaysOfWeek.contains(date.getDayOfWeek())) {
-            return false;
+        boolean effective = effectiveDaysOfWeek.contains(date.getDayOfWeek());
+        if (!excludeHolidays || holidayCalendar == null) {
+            return effective;
         }
 
-        // TODO: 检查是否为法定节假日
+        // 检查法定节假日与调休工作日
+        if (holidayCalendar.isHoliday(date)) {
+            return false;
+        }
+        return effective || coversWeekdays() && holidayCalendar.isMakeupWorkday(date);
+    }
 
-        return true;
+    /**
+     * 编译为不可变的位图规则（日期范围、星期、节假日预先合并）
+     *
+     * @param holidayCalendar 节假日日历，excludeHolidays 为 true 时生效
+     */
+    public CompiledScheduleRule compile(HolidayCalendar holidayCalendar) {
+        return new CompiledScheduleRule(this, holidayCalendar);
     }
 
     /**
      * 获取指定日期应该排班的时段
+     *
+     * @param holidayCalendar 节假日日历，excludeHolidays 为 true 时生效
      */
-    public Set<TimePeriod> getEffectivePeriodsOn(LocalDate date) {
-        if (!isEffectiveOn(date)) {
+    public Set<TimePeriod> getEffectivePeriodsOn(LocalDate date, HolidayCalendar holidayCalendar) {
+        if (!isEffectiveOn(date, holidayCalendar)) {
             return Set.of();
         }
         return effectivePeriods;
     }
+
+    private boolean coversWeekdays() {
+        return effectiveDaysOfWeek.containsAll(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+    }
 }
@@ -0,0 +1,64 @@
+package me.jianwen.mediask.schedule.domain.service;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * 节假日日历
+ * 供排班策略判断法定节假日和调休工作日
+ *
+ * @author jianwen
+ */
+public interface HolidayCalendar {
+
+    /**
+     * 无节假日的空日历
+     */
+    HolidayCalendar NONE = new HolidayCalendar() {
+        @Override
+        public boolean isHoliday(LocalDate date) {
+            return false;
+        }
+
+        @Override
+        public boolean isMakeupWorkday(LocalDate date) {
+            return false;
+        }
+
+        @Override
+        public BitSet holidaysOf(int year) {
+            return new BitSet();
+        }
+
+        @Override
+        public BitSet makeupWorkdaysOf(int year) {
+            return new BitSet();
+        }
+    };
+
+    /**
+     * 是否为法定节假日
+     */
+    boolean isHoliday(LocalDate date);
+
+    /**
+     * 是否为调休工作日（周末补班）
+     */
+    boolean isMakeupWorkday(LocalDate date);
+
+    /**
+     * 获取指定年份的节假日位图
+     *
+     * @param year 年份
+     * @return 位图副本，下标为 dayOfYear - 1
+     */
+    BitSet holidaysOf(int year);
+
+    /**
+     * 获取指定年份的调休工作日位图
+     *
+     * @param year 年份
+     * @return 位图副本，下标为 dayOfYear - 1
+     */
+    BitSet makeupWorkdaysOf(int year);
+}
@@ -1,10 +1,16 @@
 package me.jianwen.mediask.schedule.domain.service;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import me.jianwen.mediask.schedule.domain.rule.CompiledScheduleRule;
 import me.jianwen.mediask.schedule.domain.rule.ScheduleRule;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 排班上下文
@@ -26,6 +32,26 @@ public class ScheduleContext {
      */
     private Map<String, Object> properties;
 
+    /**
+     * 编译后的排班规则缓存（同一上下文为多个医生排班时只编译一次）
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicReference<CompiledScheduleRule> compiledRule = new AtomicReference<>();
+
+    /**
+     * 获取编译后的排班规则
+     */
+    public CompiledScheduleRule getCompiledRule(HolidayCalendar holidayCalendar) {
+        CompiledScheduleRule compiled = compiledRule.get();
+        if (compiled == null) {
+            compiledRule.compareAndSet(null, scheduleRule.compile(holidayCalendar));
+            compiled = compiledRule.get();
+        }
+        return compiled;
+    }
+
     /**
      * 获取配置属性
      */
@@ -0,0 +1,29 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * 节假日日历中的特殊日期
+ *
+ * @author jianwen
+ */
+@Value
+public class HolidayDay {
+
+    /**
+     * 日期
+     */
+    LocalDate date;
+
+    /**
+     * 是否为调休工作日（false 表示法定节假日）
+     */
+    boolean makeupWorkday;
+
+    /**
+     * 节日名称
+     */
+    String name;
+}
@@ -0,0 +1,41 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import lombok.Value;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+
+import java.util.List;
+
+/**
+ * 可预约排班列表快照值对象
+ * 缓存中的排班列表及其逻辑过期时间、重建耗时（用于提前刷新）
+ *
+ * @author jianwen
+ */
+@Value
+public class OpenScheduleSnapshot {
+
+    List<DoctorSchedule> schedules;
+
+    /**
+     * 逻辑过期时间（毫秒时间戳）
+     */
+    long expireAt;
+
+    /**
+     * 重建耗时（毫秒）
+     */
+    long rebuildMillis;
+
+    public OpenScheduleSnapshot(List<DoctorSchedule> schedules, long expireAt, long rebuildMillis) {
+        if (schedules == null) {
+            throw new IllegalArgumentException("Schedules cannot be null");
+        }
+        this.schedules = List.copyOf(schedules);
+        this.expireAt = expireAt;
+        this.rebuildMillis = rebuildMillis;
+    }
+
+    public static OpenScheduleSnapshot of(List<DoctorSchedule> schedules, long expireAt, long rebuildMillis) {
+        return new OpenScheduleSnapshot(schedules, expireAt, rebuildMillis);
+    }
+}
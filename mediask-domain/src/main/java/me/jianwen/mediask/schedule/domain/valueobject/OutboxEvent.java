@@ -0,0 +1,53 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待写入发件箱的领域事件
+ * 记录事件所属聚合，中继按聚合ID分区投递以保证同一聚合的事件有序
+ *
+ * @author jianwen
+ */
+@Value
+public class OutboxEvent {
+
+    /**
+     * 聚合类型（如 DoctorSchedule）
+     */
+    String aggregateType;
+
+    /**
+     * 聚合ID
+     */
+    String aggregateId;
+
+    /**
+     * 领域事件对象（写入时序列化为 JSON）
+     */
+    Object event;
+
+    LocalDateTime occurredOn;
+
+    public OutboxEvent(String aggregateType, String aggregateId, Object event) {
+        if (aggregateType == null || aggregateId == null || event == null) {
+            throw new IllegalArgumentException("Aggregate type, aggregate id and event cannot be null");
+        }
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.event = event;
+        this.occurredOn = LocalDateTime.now();
+    }
+
+    public static OutboxEvent of(String aggregateType, Object aggregateId, Object event) {
+        return new OutboxEvent(aggregateType, String.valueOf(aggregateId), event);
+    }
+
+    /**
+     * 事件类型（事件类名）
+     */
+    public String eventType() {
+        return event.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,34 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * 排班游标值对象
+ * 按 (排班日期, 排班ID) 顺序遍历排班时记录的位置
+ *
+ * @author jianwen
+ */
+@Value
+public class ScheduleCursor {
+
+    LocalDate scheduleDate;
+    Long id;
+
+    public ScheduleCursor(LocalDate scheduleDate, Long id) {
+        if (scheduleDate == null || id == null) {
+            throw new IllegalArgumentException("Cursor date and id cannot be null");
+        }
+        this.scheduleDate = scheduleDate;
+        this.id = id;
+    }
+
+    public static ScheduleCursor of(LocalDate scheduleDate, Long id) {
+        return new ScheduleCursor(scheduleDate, id);
+    }
+
+    public ScheduleId toScheduleId() {
+        return ScheduleId.of(id);
+    }
+}
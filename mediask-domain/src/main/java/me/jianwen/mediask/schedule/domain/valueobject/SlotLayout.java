@@ -0,0 +1,117 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 时段内的时间片布局
+ * <p>
+ * 同一（时段, 时长）组合的时间片划分完全相同，布局按组合缓存为享元：
+ * 开始时间以“当日分钟数”存放在 {@code short[]} 中，对应的 {@link TimeSlot} 实例预先创建并共享。
+ * 生成号源时直接按下标取用，不再为每个时间片重复创建 LocalTime / TimeSlot。
+ * </p>
+ *
+ * @author jianwen
+ */
+public final class SlotLayout {
+
+    private static final ConcurrentMap<Long, SlotLayout> CACHE = new ConcurrentHashMap<>();
+
+    private final TimePeriod timePeriod;
+    private final int durationMinutes;
+    private final short[] startMinutes;
+    private final List<TimeSlot> timeSlots;
+
+    private SlotLayout(TimePeriod timePeriod, int durationMinutes) {
+        int start = toMinuteOfDay(timePeriod.getStartTime());
+        int count = timePeriod.calculateSlotsCount(durationMinutes);
+
+        short[] minutes = new short[count];
+        TimeSlot[] slots = new TimeSlot[count];
+        for (int i = 0; i < count; i++) {
+            int minute = start + i * durationMinutes;
+            minutes[i] = (short) minute;
+            slots[i] = TimeSlot.of(LocalTime.of(minute / 60, minute % 60), durationMinutes);
+        }
+
+        this.timePeriod = timePeriod;
+        this.durationMinutes = durationMinutes;
+        this.startMinutes = minutes;
+        this.timeSlots = Collections.unmodifiableList(Arrays.asList(slots));
+    }
+
+    /**
+     * 获取（时段, 时长）对应的布局
+     *
+     * @param timePeriod      时段
+     * @param durationMinutes 每个时间片的分钟数
+     */
+    public static SlotLayout of(TimePeriod timePeriod, int durationMinutes) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Slot duration must be positive");
+        }
+        long key = (long) durationMinutes << 2 | timePeriod.getCode();
+        return CACHE.computeIfAbsent(key, k -> new SlotLayout(timePeriod, durationMinutes));
+    }
+
+    /**
+     * 时间片数量
+     */
+    public int size() {
+        return startMinutes.length;
+    }
+
+    /**
+     * 第 index 个时间片的开始时间（当日分钟数）
+     */
+    public int startMinuteAt(int index) {
+        return startMinutes[index];
+    }
+
+    /**
+     * 第 index 个时间片（共享实例）
+     */
+    public TimeSlot timeSlotAt(int index) {
+        return timeSlots.get(index);
+    }
+
+    /**
+     * 按开始时间查找时间片下标
+     *
+     * @return 下标，不在布局内或未对齐时返回 -1
+     */
+    public int indexOf(LocalTime startTime) {
+        int offset = toMinuteOfDay(startTime) - toMinuteOfDay(timePeriod.getStartTime());
+        if (offset < 0 || offset % durationMinutes != 0 || startTime.getSecond() != 0) {
+            return -1;
+        }
+        int index = offset / durationMinutes;
+        return index < startMinutes.length ? index : -1;
+    }
+
+    /**
+     * 全部时间片（只读，共享实例）
+     */
+    public List<TimeSlot> getTimeSlots() {
+        return timeSlots;
+    }
+
+    public TimePeriod getTimePeriod() {
+        return timePeriod;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    private static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
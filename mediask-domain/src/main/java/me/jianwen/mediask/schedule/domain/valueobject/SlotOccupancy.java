@@ -0,0 +1,119 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 排班时段占用位图
+ * <p>
+ * 第 i 位对应时间片布局中的第 i 个时段，1 表示已占用。位图随排班行一起存储，
+ * 读取一行即可得到整个排班的时段占用情况。数据库以有符号 BIGINT 存储，最多支持 63 个时段
+ * （号源时长不少于 5 分钟时，最长的 4 小时时段为 48 个）。
+ * </p>
+ *
+ * @author jianwen
+ */
+public final class SlotOccupancy {
+
+    /**
+     * 位图支持的最大时段数
+     */
+    public static final int MAX_SLOTS = 63;
+
+    private final SlotLayout layout;
+    private final int slotCount;
+    private final long mask;
+
+    private SlotOccupancy(SlotLayout layout, int slotCount, long mask) {
+        this.layout = layout;
+        this.slotCount = slotCount;
+        this.mask = mask;
+    }
+
+    /**
+     * 创建占用位图
+     *
+     * @param layout    时间片布局
+     * @param slotCount 实际生成的时段数（不超过布局大小）
+     * @param mask      占用位图
+     */
+    public static SlotOccupancy of(SlotLayout layout, int slotCount, long mask) {
+        if (slotCount < 0 || slotCount > layout.size() || slotCount > MAX_SLOTS) {
+            throw new IllegalArgumentException("时段数超出位图范围: " + slotCount);
+        }
+        // 超出时段数的位无意义，直接截掉
+        long validBits = slotCount == 0 ? 0L : -1L >>> (Long.SIZE - slotCount);
+        return new SlotOccupancy(layout, slotCount, mask & validBits);
+    }
+
+    /**
+     * 时段是否已占用
+     */
+    public boolean isOccupied(int index) {
+        checkIndex(index);
+        return (mask & 1L << index) != 0;
+    }
+
+    /**
+     * 时段是否空闲
+     */
+    public boolean isFree(int index) {
+        return !isOccupied(index);
+    }
+
+    /**
+     * 空闲时段数
+     */
+    public int freeCount() {
+        return slotCount - Long.bitCount(mask);
+    }
+
+    /**
+     * 第一个空闲时段的下标，没有空闲时段返回 -1
+     */
+    public int firstFree() {
+        int index = Long.numberOfTrailingZeros(~mask);
+        return index < slotCount ? index : -1;
+    }
+
+    /**
+     * 时段数量
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * 占用位图
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * 第 index 个时段的时间片
+     */
+    public TimeSlot timeSlotAt(int index) {
+        checkIndex(index);
+        return layout.timeSlotAt(index);
+    }
+
+    /**
+     * 全部空闲时段的时间片
+     */
+    public List<TimeSlot> freeTimeSlots() {
+        List<TimeSlot> slots = new ArrayList<>(freeCount());
+        for (int i = 0; i < slotCount; i++) {
+            if ((mask & 1L << i) == 0) {
+                slots.add(layout.timeSlotAt(i));
+            }
+        }
+        return slots;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= slotCount) {
+            throw new IndexOutOfBoundsException("时段下标越界: " + index);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package me.jianwen.mediask.schedule.domain.valueobject;
+
+import java.util.Arrays;
+
+/**
+ * 分片号源计数值对象
+ * <p>
+ * 将一个排班的号源拆分到多个子计数器上，预约时只更新其中一个分片，
+ * 避免所有请求争抢同一行；总剩余号源只在读取时汇总。
+ * </p>
+ *
+ * @author jianwen
+ */
+public final class SlotShards {
+
+    /**
+     * 各分片总号源数
+     */
+    private final int[] totalSlots;
+
+    /**
+     * 各分片剩余号源数
+     */
+    private final int[] availableSlots;
+
+    private SlotShards(int[] totalSlots, int[] availableSlots) {
+        if (totalSlots.length == 0 || totalSlots.length != availableSlots.length) {
+            throw new IllegalArgumentException("分片计数无效：分片数为 0 或总数与剩余数长度不一致");
+        }
+        for (int i = 0; i < totalSlots.length; i++) {
+            if (availableSlots[i] < 0 || availableSlots[i] > totalSlots[i]) {
+                throw new IllegalArgumentException("分片剩余号源数无效: shardNo=" + i);
+            }
+        }
+        this.totalSlots = totalSlots;
+        this.availableSlots = availableSlots;
+    }
+
+    /**
+     * 由各分片计数构建
+     */
+    public static SlotShards of(int[] totalSlots, int[] availableSlots) {
+        return new SlotShards(totalSlots.clone(), availableSlots.clone());
+    }
+
+    /**
+     * 将号源容量均匀拆分到 shardCount 个分片（余数分给靠前的分片）
+     * 总数和剩余数按同一规则拆分，保证每个分片剩余数不超过其总数
+     */
+    public static SlotShards split(SlotCapacity capacity, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("分片数必须大于 0");
+        }
+        int[] totals = new int[shardCount];
+        int[] available = new int[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            totals[i] = share(capacity.getTotalSlots(), shardCount, i);
+            available[i] = share(capacity.getAvailableSlots(), shardCount, i);
+        }
+        return new SlotShards(totals, available);
+    }
+
+    /**
+     * 分片数
+     */
+    public int size() {
+        return totalSlots.length;
+    }
+
+    /**
+     * 分片总号源数
+     */
+    public int getTotalSlots(int shardNo) {
+        return totalSlots[shardNo];
+    }
+
+    /**
+     * 分片剩余号源数
+     */
+    public int getAvailableSlots(int shardNo) {
+        return availableSlots[shardNo];
+    }
+
+    /**
+     * 汇总为号源容量
+     */
+    public SlotCapacity toCapacity() {
+        return new SlotCapacity(Arrays.stream(totalSlots).sum(), Arrays.stream(availableSlots).sum());
+    }
+
+    private static int share(int value, int shardCount, int shardNo) {
+        return value / shardCount + (shardNo < value % shardCount ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SlotShards that)) {
+            return false;
+        }
+        return Arrays.equals(totalSlots, that.totalSlots) && Arrays.equals(availableSlots, that.availableSlots);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(totalSlots) + Arrays.hashCode(availableSlots);
+    }
+}
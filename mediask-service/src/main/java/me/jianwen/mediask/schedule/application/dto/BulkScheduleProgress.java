@@ -0,0 +1,80 @@
+package me.jianwen.mediask.schedule.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量自动排班进度
+ *
+ * @author jianwen
+ */
+@Value
+@Builder
+public class BulkScheduleProgress {
+
+    /**
+     * 任务ID
+     */
+    String taskId;
+
+    /**
+     * 任务状态
+     */
+    Status status;
+
+    /**
+     * 医生总数
+     */
+    int totalDoctors;
+
+    /**
+     * 已完成排班生成的医生数
+     */
+    int processedDoctors;
+
+    /**
+     * 排班生成失败的医生数
+     */
+    int failedDoctors;
+
+    /**
+     * 已写入的排班数
+     */
+    long schedulesCreated;
+
+    /**
+     * 已写入的号源时段数
+     */
+    long slotsCreated;
+
+    /**
+     * 写入失败的排班数（所在分块事务回滚）
+     */
+    long schedulesFailed;
+
+    /**
+     * 写入吞吐（排班/秒）
+     */
+    double schedulesPerSecond;
+
+    /**
+     * 开始时间
+     */
+    LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    LocalDateTime finishedAt;
+
+    /**
+     * 任务状态枚举
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,31 @@
+package me.jianwen.mediask.schedule.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalTime;
+
+/**
+ * 时段可预约情况
+ *
+ * @author jianwen
+ */
+@Value
+@Builder
+public class SlotAvailability {
+
+    /**
+     * 开始时间
+     */
+    LocalTime startTime;
+
+    /**
+     * 结束时间
+     */
+    LocalTime endTime;
+
+    /**
+     * 是否可预约
+     */
+    boolean available;
+}
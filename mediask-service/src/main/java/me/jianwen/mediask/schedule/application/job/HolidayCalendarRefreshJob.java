@@ -0,0 +1,31 @@
+package me.jianwen.mediask.schedule.application.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.schedule.domain.service.IndexedHolidayCalendar;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 节假日日历刷新任务
+ * 定期从数据库重新加载日历，新快照构建完成后原子替换
+ *
+ * @author jianwen
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HolidayCalendarRefreshJob {
+
+    private final IndexedHolidayCalendar holidayCalendar;
+
+    @Scheduled(fixedDelayString = "${mediask.schedule.holiday.refresh-interval-ms:3600000}",
+            initialDelayString = "${mediask.schedule.holiday.refresh-interval-ms:3600000}")
+    public void refresh() {
+        try {
+            holidayCalendar.reload();
+        } catch (Exception e) {
+            log.error("节假日日历刷新失败，继续使用旧日历", e);
+        }
+    }
+}
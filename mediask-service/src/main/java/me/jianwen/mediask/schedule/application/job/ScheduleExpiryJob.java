@@ -0,0 +1,45 @@
+package me.jianwen.mediask.schedule.application.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.LockKeys;
+import me.jianwen.mediask.common.lock.DistributedLock;
+import me.jianwen.mediask.common.lock.DistributedLockFactory;
+import me.jianwen.mediask.schedule.application.service.ScheduleApplicationService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 过期排班清理任务
+ * <p>
+ * 多实例部署时通过任务锁保证同一时间只有一个实例执行；
+ * 清理按分块提交并记录检查点，中断后下次执行从检查点继续。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduleExpiryJob {
+
+    private static final String JOB_NAME = "schedule-expiry";
+
+    private final ScheduleApplicationService scheduleApplicationService;
+    private final DistributedLockFactory lockFactory;
+
+    @Scheduled(cron = "${mediask.schedule.expiry.cron:0 10 0 * * ?}")
+    public void markExpired() {
+        try (DistributedLock lock = lockFactory.createLock(LockKeys.JOB_EXECUTE.buildKey(JOB_NAME))) {
+            if (!lock.tryLock(0, LockKeys.JOB_EXECUTE.getRecommendedLeaseTime(), TimeUnit.SECONDS)) {
+                log.info("过期排班清理正在其他实例执行，跳过");
+                return;
+            }
+            scheduleApplicationService.markExpiredSchedules();
+        } catch (Exception e) {
+            log.error("过期排班清理失败，下次执行从检查点继续", e);
+        }
+    }
+}
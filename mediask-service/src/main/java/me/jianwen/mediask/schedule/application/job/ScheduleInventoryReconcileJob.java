@@ -0,0 +1,46 @@
+package me.jianwen.mediask.schedule.application.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.schedule.config.ScheduleInventoryProperties;
+import me.jianwen.mediask.schedule.domain.service.ScheduleInventoryService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 排班库存对账任务
+ * <p>
+ * 周期性地把 Redis 库存的变化批量回写到 doctor_schedules，
+ * 单轮持续拉取直到待回写集合为空。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduleInventoryReconcileJob {
+
+    private final ScheduleInventoryService inventoryService;
+    private final ScheduleInventoryProperties properties;
+
+    @Scheduled(fixedDelayString = "${mediask.schedule.inventory.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        int batchSize = properties.getReconcileBatchSize();
+        int total = 0;
+        try {
+            int synced;
+            do {
+                synced = inventoryService.reconcile(batchSize);
+                total += synced;
+            } while (synced >= batchSize);
+        } catch (Exception e) {
+            log.error("排班库存对账失败: 已回写 {} 条", total, e);
+            return;
+        }
+
+        if (total > 0) {
+            log.debug("排班库存对账完成: 回写 {} 条", total);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package me.jianwen.mediask.schedule.application.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.schedule.config.SlotClaimProperties;
+import me.jianwen.mediask.schedule.domain.service.SlotOccupancyService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 时段占用位图对账任务
+ * <p>
+ * 周期性地按 appointment_slots 重建有变化的排班位图并回写 doctor_schedules.occupied_slots，
+ * 单轮持续拉取直到待对账集合为空。各抢占模式都依赖本任务维护排班行位图，不在抢占路径上逐次写排班行。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SlotOccupancyReconcileJob {
+
+    private final SlotOccupancyService occupancyService;
+    private final SlotClaimProperties properties;
+
+    @Scheduled(fixedDelayString = "${mediask.schedule.slot-claim.bitmap-reconcile-interval-ms:1000}")
+    public void reconcile() {
+        int batchSize = properties.getBitmapReconcileBatchSize();
+        int total = 0;
+        try {
+            int reconciled;
+            do {
+                reconciled = occupancyService.reconcile(batchSize);
+                total += reconciled;
+            } while (reconciled >= batchSize);
+        } catch (Exception e) {
+            log.error("时段占用位图对账失败: 已对账 {} 条", total, e);
+            return;
+        }
+
+        if (total > 0) {
+            log.debug("时段占用位图对账完成: 对账 {} 条", total);
+        }
+    }
+}
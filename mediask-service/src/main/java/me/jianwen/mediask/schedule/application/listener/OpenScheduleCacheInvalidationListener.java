@@ -0,0 +1,108 @@
+package me.jianwen.mediask.schedule.application.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.event.BatchEventHandler;
+import me.jianwen.mediask.schedule.application.service.OpenScheduleQueryService;
+import me.jianwen.mediask.schedule.domain.event.ScheduleSlotDecreasedEvent;
+import me.jianwen.mediask.schedule.domain.event.ScheduleStatusChangedEvent;
+import me.jianwen.mediask.schedule.domain.event.SchedulesCreatedEvent;
+import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 可预约排班缓存失效监听器
+ * <p>
+ * 事务提交后处理排班领域事件（无事务时立即处理），失效排班所在（日期, 时段）的列表缓存。
+ * 号源扣减事件经异步事件总线批量送达（同一排班合并为剩余数最少的一条），只在售罄时失效，
+ * 其余情况列表只是剩余数变化，由缓存有效期自然刷新。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenScheduleCacheInvalidationListener implements BatchEventHandler<ScheduleSlotDecreasedEvent> {
+
+    private final OpenScheduleQueryService openScheduleQueryService;
+    private final DoctorScheduleRepository scheduleRepository;
+
+    /**
+     * 同一批创建的排班按去重后的（日期, 时段）各失效一次
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchedulesCreated(SchedulesCreatedEvent event) {
+        event.getDatePeriods().forEach(key -> evict(key.getScheduleDate(), key.getTimePeriod()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleStatusChanged(ScheduleStatusChangedEvent event) {
+        evict(event.getScheduleId());
+    }
+
+    @Override
+    public Class<ScheduleSlotDecreasedEvent> eventType() {
+        return ScheduleSlotDecreasedEvent.class;
+    }
+
+    @Override
+    public Object coalesceKey(ScheduleSlotDecreasedEvent event) {
+        return event.getScheduleId();
+    }
+
+    /**
+     * 并发扣减时事件发布顺序不一定与扣减顺序一致，保留剩余数较少的一条
+     */
+    @Override
+    public ScheduleSlotDecreasedEvent merge(ScheduleSlotDecreasedEvent previous, ScheduleSlotDecreasedEvent next) {
+        return next.getRemainingSlots() <= previous.getRemainingSlots() ? next : previous;
+    }
+
+    @Override
+    public void onBatch(List<ScheduleSlotDecreasedEvent> events) {
+        // 同一（日期, 时段）下多个排班售罄时只失效一次
+        Set<Slot> soldOut = new LinkedHashSet<>();
+        for (ScheduleSlotDecreasedEvent event : events) {
+            if (event.getRemainingSlots() == 0) {
+                findSlot(event.getScheduleId(), soldOut);
+            }
+        }
+        soldOut.forEach(slot -> evict(slot.date(), slot.period()));
+    }
+
+    private void evict(ScheduleId scheduleId) {
+        Set<Slot> slots = new LinkedHashSet<>(1);
+        findSlot(scheduleId, slots);
+        slots.forEach(slot -> evict(slot.date(), slot.period()));
+    }
+
+    private void findSlot(ScheduleId scheduleId, Set<Slot> sink) {
+        try {
+            scheduleRepository.findById(scheduleId)
+                    .ifPresent(schedule -> sink.add(new Slot(schedule.getScheduleDate(), schedule.getTimePeriod())));
+        } catch (RuntimeException e) {
+            log.warn("查询排班失败，跳过缓存失效: scheduleId={}", scheduleId.getValue(), e);
+        }
+    }
+
+    private void evict(LocalDate date, TimePeriod period) {
+        try {
+            openScheduleQueryService.evict(date, period);
+        } catch (RuntimeException e) {
+            // 失效失败时列表最长在有效期内过期，不影响业务操作本身
+            log.warn("可预约排班缓存失效失败: date={}, period={}", date, period, e);
+        }
+    }
+
+    private record Slot(LocalDate date, TimePeriod period) {
+    }
+}
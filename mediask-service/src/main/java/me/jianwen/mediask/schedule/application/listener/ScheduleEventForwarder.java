@@ -0,0 +1,54 @@
+package me.jianwen.mediask.schedule.application.listener;
+
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.common.event.AsyncEventBus;
+import me.jianwen.mediask.schedule.domain.event.ScheduleSlotDecreasedEvent;
+import me.jianwen.mediask.schedule.domain.event.ScheduleSlotIncreasedEvent;
+import me.jianwen.mediask.schedule.domain.event.ScheduleStatusChangedEvent;
+import me.jianwen.mediask.schedule.domain.event.SchedulesCreatedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 排班领域事件转发器
+ * <p>
+ * 事务提交后（无事务时立即）把排班事件写入进程内异步事件总线，只做一次无锁入队，不执行任何处理器；
+ * 总线已满或未启用时事件被丢弃，由各消费方的有效期或定时任务兜底。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleEventForwarder {
+
+    private final ObjectProvider<AsyncEventBus> eventBus;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchedulesCreated(SchedulesCreatedEvent event) {
+        forward(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleStatusChanged(ScheduleStatusChangedEvent event) {
+        forward(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleSlotDecreased(ScheduleSlotDecreasedEvent event) {
+        forward(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleSlotIncreased(ScheduleSlotIncreasedEvent event) {
+        forward(event);
+    }
+
+    private void forward(Object event) {
+        AsyncEventBus bus = eventBus.getIfAvailable();
+        if (bus != null) {
+            bus.publish(event);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package me.jianwen.mediask.schedule.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.common.util.IdUtil;
+import me.jianwen.mediask.schedule.application.command.BulkAutoScheduleCommand;
+import me.jianwen.mediask.schedule.application.dto.BulkScheduleProgress;
+import me.jianwen.mediask.schedule.config.BulkScheduleProperties;
+import me.jianwen.mediask.schedule.domain.entity.AppointmentSlot;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.repository.DoctorQueryRepository;
+import me.jianwen.mediask.schedule.domain.rule.ScheduleRule;
+import me.jianwen.mediask.schedule.domain.service.AutoScheduleService;
+import me.jianwen.mediask.schedule.domain.service.ScheduleContext;
+import me.jianwen.mediask.schedule.domain.service.SlotManagementService;
+import me.jianwen.mediask.schedule.domain.service.SlotShardService;
+import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量自动排班应用服务
+ * <p>
+ * 按医院/科室为全部医生排班：排班生成按医生并行执行，结果经有界队列交给协调线程，
+ * 由协调线程按固定分块批量写库，每个分块一个事务。单个医生或单个分块失败不影响其余部分。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BulkScheduleApplicationService {
+
+    private final DoctorQueryRepository doctorQueryRepository;
+    private final AutoScheduleService autoScheduleService;
+    private final SlotManagementService slotManagementService;
+    private final SlotShardService slotShardService;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduleEventPublisher scheduleEventPublisher;
+    private final BulkScheduleProperties properties;
+
+    private final Map<String, BulkScheduleTask> tasks = new ConcurrentHashMap<>();
+
+    private ExecutorService coordinator;
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        // 不注册为 Spring Bean，避免替换 Spring Boot 默认的 applicationTaskExecutor
+        coordinator = new ThreadPoolExecutor(
+                properties.getMaxConcurrentTasks(), properties.getMaxConcurrentTasks(),
+                0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                namedThreadFactory("bulk-schedule-"));
+        workers = new ThreadPoolExecutor(
+                properties.getParallelism(), properties.getParallelism(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                namedThreadFactory("bulk-schedule-worker-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 提交批量自动排班任务
+     *
+     * @return 任务ID
+     */
+    public String submit(BulkAutoScheduleCommand command) {
+        List<DoctorId> doctors = doctorQueryRepository.findSchedulableDoctors(
+                command.getHospitalId(), command.getDeptId());
+        if (doctors.isEmpty()) {
+            throw new BizException(ErrorCode.DOCTOR_NOT_FOUND);
+        }
+
+        evictFinishedTasks();
+        BulkScheduleTask task = new BulkScheduleTask(IdUtil.uuid(), doctors.size());
+        ScheduleContext context = buildContext(command);
+        tasks.put(task.taskId, task);
+        try {
+            coordinator.execute(() -> run(task, doctors, command, context));
+        } catch (RejectedExecutionException e) {
+            tasks.remove(task.taskId);
+            throw new BizException(ErrorCode.RATE_LIMIT_EXCEEDED);
+        }
+
+        log.info("提交批量自动排班: taskId={}, hospitalId={}, deptId={}, doctors={}, dateRange={} to {}",
+                task.taskId, command.getHospitalId(), command.getDeptId(), doctors.size(),
+                command.getStartDate(), command.getEndDate());
+        return task.taskId;
+    }
+
+    /**
+     * 查询任务进度
+     */
+    public BulkScheduleProgress getProgress(String taskId) {
+        BulkScheduleTask task = tasks.get(taskId);
+        if (task == null) {
+            throw new BizException(ErrorCode.DATA_NOT_FOUND);
+        }
+        return task.snapshot();
+    }
+
+    private void run(BulkScheduleTask task, List<DoctorId> doctors,
+                     BulkAutoScheduleCommand command, ScheduleContext context) {
+        BlockingQueue<List<DoctorSchedule>> results = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        try {
+            for (DoctorId doctorId : doctors) {
+                workers.execute(() -> {
+                    List<DoctorSchedule> schedules = generate(task, doctorId, command, context);
+                    try {
+                        // 队列已满时阻塞，写库跟不上时限制生成速度
+                        results.put(schedules);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            // 每个医生恰好产出一个结果（失败时为空列表），收齐即结束
+            List<DoctorSchedule> chunk = new ArrayList<>(properties.getChunkSize());
+            for (int i = 0; i < doctors.size(); i++) {
+                chunk.addAll(results.take());
+                task.processedDoctors.incrementAndGet();
+                if (chunk.size() >= properties.getChunkSize()) {
+                    writeChunk(task, chunk);
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+            writeChunk(task, chunk);
+            task.finish(BulkScheduleProgress.Status.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.finish(BulkScheduleProgress.Status.FAILED);
+        } catch (Exception e) {
+            log.error("批量自动排班失败: taskId={}", task.taskId, e);
+            task.finish(BulkScheduleProgress.Status.FAILED);
+        }
+
+        BulkScheduleProgress progress = task.snapshot();
+        log.info("批量自动排班结束: taskId={}, status={}, schedules={}, slots={}, failedDoctors={}, {} 条/秒",
+                task.taskId, progress.getStatus(), progress.getSchedulesCreated(), progress.getSlotsCreated(),
+                progress.getFailedDoctors(), String.format("%.1f", progress.getSchedulesPerSecond()));
+    }
+
+    private List<DoctorSchedule> generate(BulkScheduleTask task, DoctorId doctorId,
+                                          BulkAutoScheduleCommand command, ScheduleContext context) {
+        try {
+            return autoScheduleService.autoSchedule(
+                    doctorId, command.getStartDate(), command.getEndDate(), context, command.getStrategyName());
+        } catch (Exception e) {
+            log.warn("医生排班生成失败: taskId={}, doctorId={}", task.taskId, doctorId.getValue(), e);
+            task.failedDoctors.incrementAndGet();
+            return List.of();
+        }
+    }
+
+    /**
+     * 在一个事务内写入一个分块的排班、号源时段及其领域事件
+     */
+    private void writeChunk(BulkScheduleTask task, List<DoctorSchedule> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            Integer slotCount = transactionTemplate.execute(status -> {
+                chunk.forEach(slotShardService::prepare);
+                autoScheduleService.saveSchedules(chunk);
+                slotShardService.initialize(chunk);
+
+                List<AppointmentSlot> slots = slotManagementService.generateSlotsForSchedules(chunk);
+                slotManagementService.saveSlots(slots);
+
+                scheduleEventPublisher.publish(chunk);
+                return slots.size();
+            });
+            task.schedulesCreated.addAndGet(chunk.size());
+            task.slotsCreated.addAndGet(slotCount == null ? 0 : slotCount);
+        } catch (Exception e) {
+            log.error("批量排班分块写入失败: taskId={}, size={}", task.taskId, chunk.size(), e);
+            task.schedulesFailed.addAndGet(chunk.size());
+        }
+    }
+
+    private ScheduleContext buildContext(BulkAutoScheduleCommand command) {
+        ScheduleRule rule = new ScheduleRule();
+        rule.setRuleName("批量自动排班规则");
+        rule.setEffectiveDaysOfWeek(command.getWorkDays());
+        rule.setEffectivePeriods(command.getTimePeriods());
+        rule.setSlotsPerPeriod(command.getSlotsPerPeriod());
+        rule.setSlotDurationMinutes(command.getSlotDurationMinutes());
+        rule.setEffectiveStartDate(command.getStartDate());
+        rule.setEffectiveEndDate(command.getEndDate());
+        rule.setExcludeHolidays(command.getExcludeHolidays());
+
+        return ScheduleContext.builder()
+                .scheduleRule(rule)
+                .properties(new HashMap<>())
+                .build();
+    }
+
+    private void evictFinishedTasks() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(properties.getRetainMinutes());
+        tasks.values().removeIf(task -> task.finishedAt != null && task.finishedAt.isBefore(expireBefore));
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory delegate = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = delegate.newThread(runnable);
+            thread.setName(prefix + counter.incrementAndGet());
+            return thread;
+        };
+    }
+
+    /**
+     * 批量任务运行状态
+     */
+    private static final class BulkScheduleTask {
+
+        private final String taskId;
+        private final int totalDoctors;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger processedDoctors = new AtomicInteger();
+        private final AtomicInteger failedDoctors = new AtomicInteger();
+        private final AtomicLong schedulesCreated = new AtomicLong();
+        private final AtomicLong slotsCreated = new AtomicLong();
+        private final AtomicLong schedulesFailed = new AtomicLong();
+        private volatile BulkScheduleProgress.Status status = BulkScheduleProgress.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishNanos;
+
+        private BulkScheduleTask(String taskId, int totalDoctors) {
+            this.taskId = taskId;
+            this.totalDoctors = totalDoctors;
+        }
+
+        private void finish(BulkScheduleProgress.Status finalStatus) {
+            this.finishNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        private BulkScheduleProgress snapshot() {
+            long endNanos = status == BulkScheduleProgress.Status.RUNNING ? System.nanoTime() : finishNanos;
+            double seconds = Math.max(Duration.ofNanos(endNanos - startNanos).toMillis(), 1L) / 1000.0;
+            long created = schedulesCreated.get();
+            return BulkScheduleProgress.builder()
+                    .taskId(taskId)
+                    .status(status)
+                    .totalDoctors(totalDoctors)
+                    .processedDoctors(processedDoctors.get())
+                    .failedDoctors(failedDoctors.get())
+                    .schedulesCreated(created)
+                    .slotsCreated(slotsCreated.get())
+                    .schedulesFailed(schedulesFailed.get())
+                    .schedulesPerSecond(created / seconds)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
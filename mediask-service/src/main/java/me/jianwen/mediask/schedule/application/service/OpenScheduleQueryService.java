@@ -0,0 +1,207 @@
+package me.jianwen.mediask.schedule.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.cache.CacheAsideTemplate;
+import me.jianwen.mediask.common.cache.CachePolicy;
+import me.jianwen.mediask.common.cache.CacheStore;
+import me.jianwen.mediask.common.cache.CacheValue;
+import me.jianwen.mediask.common.constant.RedisKeyConstants;
+import me.jianwen.mediask.schedule.config.OpenScheduleCacheProperties;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.repository.DoctorQueryRepository;
+import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.OpenScheduleCacheRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import me.jianwen.mediask.schedule.domain.valueobject.OpenScheduleSnapshot;
+import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 可预约排班查询服务（两级缓存）
+ * <p>
+ * 按（日期, 时段, 医院/科室）缓存可预约排班列表：本地 Caffeine 为一级，Redis 为二级，均使用较短的有效期。
+ * 本地缓存按 Key 加载，同一实例内同一 Key 的并发未命中只有一个线程回源，其余线程等待结果；
+ * 二级缓存通过 {@link CacheAsideTemplate} 读取：跨实例加重建锁、概率提前刷新、重建期间返回旧值，
+ * Redis 不可用时直接查库。
+ * 排班创建、状态变更和号源售罄时整体失效对应（日期, 时段），并通过 Redis 通知其他实例清除本地缓存；
+ * 失效与回源并发时可能写回旧列表，最长保留到有效期结束。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OpenScheduleQueryService {
+
+    /**
+     * 不限医院/科室的范围
+     */
+    public static final String ALL_SCOPE = "all";
+
+    private static final String LOCAL_CACHE_NAME = "schedule.open.local";
+    private static final String REDIS_CACHE_NAME = "schedule.open.redis";
+
+    private final DoctorScheduleRepository scheduleRepository;
+    private final DoctorQueryRepository doctorQueryRepository;
+    private final OpenScheduleCacheRepository cacheRepository;
+    private final OpenScheduleCacheProperties properties;
+    private final CacheAsideTemplate cacheAsideTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<CacheKey, List<DoctorSchedule>> localCache;
+    private CachePolicy sharedPolicy;
+    private Counter redisHits;
+    private Counter redisMisses;
+    private Counter redisErrors;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getLocalTtlSeconds()))
+                .maximumSize(properties.getLocalMaxSize())
+                .recordStats()
+                .build();
+        // cache.gets{cache=schedule.open.local, result=hit|miss} 等指标
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, LOCAL_CACHE_NAME);
+        redisHits = redisCounter("hit");
+        redisMisses = redisCounter("miss");
+        redisErrors = redisCounter("error");
+        sharedPolicy = CachePolicy.builder()
+                .ttl(Duration.ofSeconds(properties.getRedisTtlSeconds()))
+                .staleTtl(Duration.ofSeconds(properties.getRedisStaleSeconds()))
+                .beta(properties.getEarlyRefreshBeta())
+                .build();
+
+        cacheRepository.subscribeEvictions(this::evictLocal);
+    }
+
+    /**
+     * 构建缓存范围
+     */
+    public static String scopeOf(Long hospitalId, Long deptId) {
+        if (hospitalId == null) {
+            return ALL_SCOPE;
+        }
+        return hospitalId + ":" + (deptId == null ? "0" : deptId);
+    }
+
+    /**
+     * 查询可预约的排班
+     *
+     * @param hospitalId 医院ID，为空时不限医院
+     * @param deptId     科室ID，为空时不限科室
+     * @return 排班列表（只读）
+     */
+    public List<DoctorSchedule> listOpenSchedules(LocalDate date, TimePeriod period, Long hospitalId, Long deptId) {
+        CacheKey key = new CacheKey(date, period, hospitalId, deptId);
+        if (!properties.isEnabled()) {
+            return loadFromDatabase(key);
+        }
+        return localCache.get(key, this::loadShared);
+    }
+
+    /**
+     * 失效（日期, 时段）下所有范围的列表，并通知其他实例
+     */
+    public void evict(LocalDate date, TimePeriod period) {
+        evictLocal(date, period);
+        cacheRepository.evict(date, period);
+        log.debug("可预约排班缓存失效: date={}, period={}", date, period);
+    }
+
+    private void evictLocal(LocalDate date, TimePeriod period) {
+        localCache.asMap().keySet().removeIf(key -> key.period() == period && key.date().equals(date));
+    }
+
+    /**
+     * 本地未命中：读 Redis，未命中或需要刷新时查库并回填
+     */
+    private List<DoctorSchedule> loadShared(CacheKey key) {
+        return cacheAsideTemplate.get(key.sharedKey(), new SharedStore(key), sharedPolicy,
+                () -> loadFromDatabase(key));
+    }
+
+    private List<DoctorSchedule> loadFromDatabase(CacheKey key) {
+        List<DoctorSchedule> schedules = scheduleRepository.findOpenSchedulesByDateAndPeriod(key.date(), key.period());
+        if (key.hospitalId() == null) {
+            return List.copyOf(schedules);
+        }
+
+        Set<DoctorId> doctors = new HashSet<>(
+                doctorQueryRepository.findSchedulableDoctors(key.hospitalId(), key.deptId()));
+        return schedules.stream()
+                .filter(schedule -> doctors.contains(schedule.getDoctorId()))
+                .toList();
+    }
+
+    private Counter redisCounter(String result) {
+        return Counter.builder("cache.gets")
+                .description("Redis 缓存读取次数")
+                .tag("cache", REDIS_CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 本地缓存 Key
+     */
+    private record CacheKey(LocalDate date, TimePeriod period, Long hospitalId, Long deptId) {
+
+        String scope() {
+            return scopeOf(hospitalId, deptId);
+        }
+
+        String sharedKey() {
+            return RedisKeyConstants.SCHEDULE_OPEN_CACHE + date + ":" + period.getCode() + ":" + scope();
+        }
+    }
+
+    /**
+     * 以共享缓存仓储作为旁路缓存的存储
+     */
+    private final class SharedStore implements CacheStore<List<DoctorSchedule>> {
+
+        private final CacheKey key;
+
+        private SharedStore(CacheKey key) {
+            this.key = key;
+        }
+
+        @Override
+        public CacheValue<List<DoctorSchedule>> get(String cacheKey) {
+            OpenScheduleSnapshot snapshot;
+            try {
+                snapshot = cacheRepository.get(key.date(), key.period(), key.scope()).orElse(null);
+            } catch (RuntimeException e) {
+                redisErrors.increment();
+                throw e;
+            }
+            if (snapshot == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return CacheValue.of(snapshot.getSchedules(), snapshot.getExpireAt(), snapshot.getRebuildMillis());
+        }
+
+        @Override
+        public void put(String cacheKey, CacheValue<List<DoctorSchedule>> value, Duration ttl) {
+            cacheRepository.put(key.date(), key.period(), key.scope(),
+                    OpenScheduleSnapshot.of(value.getValue(), value.getExpireAt(), value.getRebuildMillis()), ttl);
+        }
+    }
+}
@@ -4,21 +4,33 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.jianwen.mediask.schedule.application.command.AutoScheduleCommand;
 import me.jianwen.mediask.schedule.application.command.CreateScheduleCommand;
+import me.jianwen.mediask.schedule.application.dto.SlotAvailability;
+import me.jianwen.mediask.schedule.config.ScheduleExpiryProperties;
 import me.jianwen.mediask.schedule.domain.entity.AppointmentSlot;
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.event.ScheduleSlotDecreasedEvent;
+import me.jianwen.mediask.schedule.domain.event.ScheduleSlotIncreasedEvent;
 import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.ExpirySweepCheckpointRepository;
 import me.jianwen.mediask.schedule.domain.rule.ScheduleRule;
 import me.jianwen.mediask.schedule.domain.service.AutoScheduleService;
 import me.jianwen.mediask.schedule.domain.service.ScheduleContext;
+import me.jianwen.mediask.schedule.domain.service.ScheduleInventoryService;
 import me.jianwen.mediask.schedule.domain.service.SlotManagementService;
+import me.jianwen.mediask.schedule.domain.service.SlotShardService;
 import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleCursor;
 import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
-import me.jianwen.mediask.schedule.domain.valueobject.ScheduleStatus;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotOccupancy;
 import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+import me.jianwen.mediask.schedule.domain.valueobject.TimeSlot;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
@@ -41,6 +53,14 @@ public class ScheduleApplicationService {
     private final DoctorScheduleRepository scheduleRepository;
     private final AutoScheduleService autoScheduleService;
     private final SlotManagementService slotManagementService;
+    private final ScheduleInventoryService inventoryService;
+    private final SlotShardService slotShardService;
+    private final ExpirySweepCheckpointRepository checkpointRepository;
+    private final ScheduleExpiryProperties expiryProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final OpenScheduleQueryService openScheduleQueryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleEventPublisher scheduleEventPublisher;
 
     /**
      * 创建单个排班
@@ -65,16 +85,18 @@ public class ScheduleApplicationService {
                 timePeriod,
                 command.getTotalSlots(),
                 command.getSlotDurationMinutes());
+        slotShardService.prepare(schedule);
 
         // 3. 保存排班
         scheduleRepository.save(schedule);
+        slotShardService.initialize(schedule);
 
         // 4. 生成号源时段
         List<AppointmentSlot> slots = slotManagementService.generateSlotsForSchedule(schedule);
         slotManagementService.saveSlots(slots);
 
-        // 5. 发布领域事件（在实际项目中需要实现事件发布器）
-        publishEvents(schedule);
+        // 5. 发布领域事件
+        scheduleEventPublisher.publish(List.of(schedule));
 
         log.info("排班创建成功: scheduleId={}", schedule.getId());
 
@@ -116,16 +138,16 @@ public class ScheduleApplicationService {
                 command.getStrategyName());
 
         // 4. 保存排班
+        schedules.forEach(slotShardService::prepare);
         autoScheduleService.saveSchedules(schedules);
+        slotShardService.initialize(schedules);
 
-        // 5. 为每个排班生成号源时段
-        schedules.forEach(schedule -> {
-            List<AppointmentSlot> slots = slotManagementService.generateSlotsForSchedule(schedule);
-            slotManagementService.saveSlots(slots);
-        });
+        // 5. 为每个排班生成号源时段，合并后批量插入
+        List<AppointmentSlot> slots = slotManagementService.generateSlotsForSchedules(schedules);
+        slotManagementService.saveSlots(slots);
 
         // 6. 发布领域事件
-        schedules.forEach(this::publishEvents);
+        scheduleEventPublisher.publish(schedules);
 
         log.info("自动排班完成: 生成 {} 条排班", schedules.size());
 
@@ -141,11 +163,13 @@ public class ScheduleApplicationService {
     public void closeSchedule(Long scheduleId, String reason) {
         log.info("停诊: scheduleId={}, reason={}", scheduleId, reason);
 
+        inventoryService.flush(ScheduleId.of(scheduleId));
+
         DoctorSchedule schedule = getScheduleById(scheduleId);
         schedule.close(reason);
         scheduleRepository.save(schedule);
 
-        publishEvents(schedule);
+        scheduleEventPublisher.publish(List.of(schedule));
 
         log.info("停诊成功: scheduleId={}", scheduleId);
     }
@@ -157,11 +181,13 @@ public class ScheduleApplicationService {
     public void openSchedule(Long scheduleId) {
         log.info("开诊: scheduleId={}", scheduleId);
 
+        inventoryService.flush(ScheduleId.of(scheduleId));
+
         DoctorSchedule schedule = getScheduleById(scheduleId);
         schedule.open();
         scheduleRepository.save(schedule);
 
-        publishEvents(schedule);
+        scheduleEventPublisher.publish(List.of(schedule));
 
         log.info("开诊成功: scheduleId={}", scheduleId);
     }
@@ -173,17 +199,51 @@ public class ScheduleApplicationService {
     public void adjustTotalSlots(Long scheduleId, int newTotalSlots) {
         log.info("调整号源: scheduleId={}, newTotalSlots={}", scheduleId, newTotalSlots);
 
+        inventoryService.flush(ScheduleId.of(scheduleId));
+
         DoctorSchedule schedule = getScheduleById(scheduleId);
+        slotShardService.lockCapacity(schedule);
         schedule.adjustTotalSlots(newTotalSlots);
         scheduleRepository.save(schedule);
+        slotShardService.initialize(schedule);
 
         // TODO: 同步调整时段数量
 
-        publishEvents(schedule);
+        scheduleEventPublisher.publish(List.of(schedule));
 
         log.info("号源调整成功: scheduleId={}", scheduleId);
     }
 
+    /**
+     * 扣减号源（预约时调用）
+     * REDIS 模式只操作 Redis 库存，数据库由对账任务异步回写；
+     * 分片计数的排班（创建时按 SHARDED 模式开启）只更新一个分片行，剩余号源在读取时汇总；
+     * 按排班自身的分片数分派，与当前配置的模式无关
+     * 扣减后发布号源扣减事件（分片计数的排班取扣减分片的剩余数，为排班剩余数的下界，约满时为 0）
+     */
+    public void deductSlot(Long scheduleId) {
+        ScheduleId id = ScheduleId.of(scheduleId);
+        int shardCount = slotShardService.shardCountOf(id);
+        int remaining = shardCount > 1
+                ? slotShardService.decrease(id, shardCount)
+                : inventoryService.deduct(id);
+        // 经转发器无锁写入异步事件总线，消费方按排班合并
+        eventPublisher.publishEvent(new ScheduleSlotDecreasedEvent(id, remaining));
+    }
+
+    /**
+     * 归还号源（取消预约时调用）
+     * 归还后发布号源增加事件
+     */
+    public void restoreSlot(Long scheduleId) {
+        ScheduleId id = ScheduleId.of(scheduleId);
+        int shardCount = slotShardService.shardCountOf(id);
+        int remaining = shardCount > 1
+                ? slotShardService.increase(id, shardCount)
+                : inventoryService.restore(id);
+        eventPublisher.publishEvent(new ScheduleSlotIncreasedEvent(id, remaining));
+    }
+
     /**
      * 查询排班详情
      */
@@ -192,6 +252,27 @@ public class ScheduleApplicationService {
                 .orElseThrow(() -> new IllegalArgumentException("排班不存在: " + scheduleId));
     }
 
+    /**
+     * 查询排班的时段可预约情况
+     * 由排班行上的时间片布局和占用位图直接生成，不查询号源时段表
+     */
+    public List<SlotAvailability> listSlotAvailability(Long scheduleId) {
+        DoctorSchedule schedule = getScheduleById(scheduleId);
+        SlotOccupancy occupancy = schedule.slotOccupancy();
+        boolean bookable = schedule.getStatus().canAppointment();
+
+        List<SlotAvailability> grid = new ArrayList<>(occupancy.getSlotCount());
+        for (int i = 0; i < occupancy.getSlotCount(); i++) {
+            TimeSlot timeSlot = occupancy.timeSlotAt(i);
+            grid.add(SlotAvailability.builder()
+                    .startTime(timeSlot.getStartTime())
+                    .endTime(timeSlot.getEndTime())
+                    .available(bookable && occupancy.isFree(i))
+                    .build());
+        }
+        return grid;
+    }
+
     /**
      * 查询医生在日期范围内的排班
      */
@@ -204,39 +285,65 @@ public class ScheduleApplicationService {
     }
 
     /**
-     * 查询可预约的排班
+     * 查询可预约的排班（两级缓存）
+     *
+     * @param hospitalId 医院ID，为空时不限医院
+     * @param deptId     科室ID，为空时不限科室
      */
-    public List<DoctorSchedule> listOpenSchedules(LocalDate date, TimePeriod period) {
-        return scheduleRepository.findOpenSchedulesByDateAndPeriod(date, period);
+    public List<DoctorSchedule> listOpenSchedules(LocalDate date, TimePeriod period, Long hospitalId, Long deptId) {
+        return openScheduleQueryService.listOpenSchedules(date, period, hospitalId, deptId);
     }
 
     /**
-     * 标记过期排班
-     * 定时任务调用，将已过期的排班标记为已过期状态
+     * 查询日期范围内的开放排班（不经过缓存）
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void markExpiredSchedules() {
-        log.info("开始标记过期排班");
+    public List<DoctorSchedule> listOpenSchedulesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return scheduleRepository.findOpenSchedulesByDateRange(startDate, endDate);
+    }
 
+    /**
+     * 标记过期排班
+     * <p>
+     * 定时任务调用。按 (schedule_date, id) 键集分块遍历过期排班，每个分块一条 UPDATE、单独提交事务，
+     * 提交后写入检查点；中途失败时已提交的分块保留，下次执行从检查点继续，全部完成后清除检查点。
+     * 每个分块在同一事务内收回内存库存，提交后移除。
+     * </p>
+     *
+     * @return 本次标记的排班数
+     */
+    public int markExpiredSchedules() {
         LocalDate yesterday = LocalDate.now().minusDays(1);
-        List<DoctorSchedule> expiredSchedules = scheduleRepository.findExpiredSchedules(yesterday);
+        int batchSize = expiryProperties.getBatchSize();
 
-        expiredSchedules.forEach(schedule -> {
-            if (schedule.getStatus() != ScheduleStatus.EXPIRED) {
-                schedule.markAsExpired();
-                scheduleRepository.save(schedule);
-            }
-        });
+        ScheduleCursor cursor = checkpointRepository.load().orElse(null);
+        if (cursor == null) {
+            log.info("开始标记过期排班");
+        } else {
+            log.info("从检查点继续标记过期排班: date={}, id={}", cursor.getScheduleDate(), cursor.getId());
+        }
 
-        log.info("过期排班标记完成: 共标记 {} 条", expiredSchedules.size());
-    }
+        int total = 0;
+        List<ScheduleCursor> keys;
+        do {
+            keys = scheduleRepository.findExpiredScheduleKeys(yesterday, cursor, batchSize);
+            if (keys.isEmpty()) {
+                break;
+            }
 
-    /**
-     * 发布领域事件
-     */
-    private void publishEvents(DoctorSchedule schedule) {
-        // TODO: 实现事件发布器
-        // eventPublisher.publishAll(schedule.getDomainEvents());
-        schedule.clearDomainEvents();
+            List<ScheduleId> scheduleIds = keys.stream().map(ScheduleCursor::toScheduleId).toList();
+            Integer updated = transactionTemplate.execute(status -> {
+                // 与停诊一致：先收回内存库存并回写，提交后移除，过期排班不再接受扣减
+                inventoryService.flush(scheduleIds);
+                return scheduleRepository.markExpired(scheduleIds);
+            });
+            total += updated == null ? 0 : updated;
+
+            cursor = keys.get(keys.size() - 1);
+            checkpointRepository.save(cursor);
+        } while (keys.size() >= batchSize);
+
+        checkpointRepository.clear();
+        log.info("过期排班标记完成: 共标记 {} 条", total);
+        return total;
     }
 }
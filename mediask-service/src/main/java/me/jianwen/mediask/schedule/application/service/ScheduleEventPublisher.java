@@ -0,0 +1,66 @@
+package me.jianwen.mediask.schedule.application.service;
+
+import lombok.RequiredArgsConstructor;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.event.ScheduleCreatedEvent;
+import me.jianwen.mediask.schedule.domain.event.SchedulesCreatedEvent;
+import me.jianwen.mediask.schedule.domain.repository.OutboxRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.OutboxEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 排班领域事件发布器
+ * <p>
+ * 单个排班的管理操作和批量排班共用：
+ * 1. 批量写入发件箱（与业务数据同一事务，由中继投递到消息总线）
+ * 2. 发布到进程内（监听器在事务提交后处理）；同一批的排班创建事件合并为一条 {@link SchedulesCreatedEvent}，
+ *    缓存失效、医生目录更新按去重后的（日期, 时段）和医生各处理一次
+ * </p>
+ *
+ * @author jianwen
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleEventPublisher {
+
+    /**
+     * 发件箱中的聚合类型
+     */
+    private static final String AGGREGATE_TYPE = "DoctorSchedule";
+
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 发布并清空排班上累积的领域事件（需在业务事务内调用）
+     */
+    public void publish(Collection<DoctorSchedule> schedules) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        for (DoctorSchedule schedule : schedules) {
+            for (Object event : schedule.getDomainEvents()) {
+                outboxEvents.add(OutboxEvent.of(AGGREGATE_TYPE, schedule.getId().getValue(), event));
+            }
+        }
+        outboxRepository.appendAll(outboxEvents);
+
+        List<ScheduleCreatedEvent> createdEvents = new ArrayList<>();
+        for (DoctorSchedule schedule : schedules) {
+            for (Object event : schedule.getDomainEvents()) {
+                if (event instanceof ScheduleCreatedEvent created) {
+                    createdEvents.add(created);
+                } else {
+                    eventPublisher.publishEvent(event);
+                }
+            }
+            schedule.clearDomainEvents();
+        }
+        if (!createdEvents.isEmpty()) {
+            eventPublisher.publishEvent(SchedulesCreatedEvent.of(createdEvents));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package me.jianwen.mediask.schedule.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量自动排班配置
+ * <p>
+ * 配置前缀：mediask.schedule.bulk
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.schedule.bulk")
+public class BulkScheduleProperties {
+
+    /**
+     * 并行生成排班的线程数
+     * 使用平台线程：生成阶段会查询已有排班，MySQL 驱动在虚拟线程下存在 pinning 问题
+     */
+    private int parallelism = 8;
+
+    /**
+     * 同时运行的批量任务数
+     */
+    private int maxConcurrentTasks = 2;
+
+    /**
+     * 每个事务写入的排班数
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 待写入队列容量（按医生计），写入跟不上时阻塞生成线程
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 已结束任务的进度保留时长（分钟）
+     */
+    private long retainMinutes = 60L;
+}
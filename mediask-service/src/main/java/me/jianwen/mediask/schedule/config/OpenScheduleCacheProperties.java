@@ -0,0 +1,49 @@
+package me.jianwen.mediask.schedule.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 可预约排班列表缓存配置
+ * <p>
+ * 配置前缀：mediask.schedule.open-cache
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.schedule.open-cache")
+public class OpenScheduleCacheProperties {
+
+    /**
+     * 是否启用缓存（关闭时每次查询数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存有效期（秒）
+     */
+    private int localTtlSeconds = 3;
+
+    /**
+     * 本地缓存最大条数
+     */
+    private int localMaxSize = 2000;
+
+    /**
+     * Redis 缓存逻辑有效期（秒）
+     */
+    private int redisTtlSeconds = 30;
+
+    /**
+     * Redis 缓存逻辑过期后仍可返回旧值的时长（秒），重建期间使用
+     */
+    private int redisStaleSeconds = 30;
+
+    /**
+     * 提前刷新系数（XFetch beta），0 表示只在过期后重建
+     */
+    private double earlyRefreshBeta = 1.0;
+}
@@ -0,0 +1,29 @@
+package me.jianwen.mediask.schedule.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 过期排班清理配置
+ * <p>
+ * 配置前缀：mediask.schedule.expiry
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.schedule.expiry")
+public class ScheduleExpiryProperties {
+
+    /**
+     * 每个分块更新的排班数（每个分块单独提交事务）
+     */
+    private int batchSize = 500;
+
+    /**
+     * 清理任务执行时间（cron 表达式）
+     */
+    private String cron = "0 10 0 * * ?";
+}
@@ -0,0 +1,66 @@
+package me.jianwen.mediask.schedule.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 排班号源库存配置
+ * <p>
+ * 配置前缀：mediask.schedule.inventory
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.schedule.inventory")
+public class ScheduleInventoryProperties {
+
+    /**
+     * 号源计数模式
+     */
+    private Mode mode = Mode.REDIS;
+
+    /**
+     * 分片模式下新建排班的号源分片数
+     * 只在创建排班时使用，分片数随排班保存，修改后不影响存量排班
+     */
+    private int shardCount = 8;
+
+    /**
+     * 库存在排班日期之后的保留天数
+     */
+    private int retainDaysAfterSchedule = 1;
+
+    /**
+     * 对账任务每批回写的排班数
+     */
+    private int reconcileBatchSize = 500;
+
+    /**
+     * 对账任务执行间隔（毫秒）
+     */
+    private long reconcileIntervalMs = 1000L;
+
+    /**
+     * 管理操作冻结库存的最长时间（秒）
+     * 正常情况下事务结束即解冻，该值只在进程异常退出时兜底
+     */
+    private int freezeTimeoutSeconds = 60;
+
+    /**
+     * 号源计数模式枚举
+     */
+    public enum Mode {
+        /**
+         * Redis 库存扣减，异步回写 doctor_schedules
+         */
+        REDIS,
+
+        /**
+         * 数据库分片计数（schedule_slot_shards），预约只更新一个分片行
+         */
+        SHARDED
+    }
+}
@@ -0,0 +1,64 @@
+package me.jianwen.mediask.schedule.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 号源时段抢占配置
+ * <p>
+ * 配置前缀：mediask.schedule.slot-claim
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.schedule.slot-claim")
+public class SlotClaimProperties {
+
+    /**
+     * 抢占模式
+     */
+    private Mode mode = Mode.OPTIMISTIC;
+
+    /**
+     * 乐观模式下最多尝试的候选时段数，全部冲突后退回加锁
+     */
+    private int maxOptimisticAttempts = 3;
+
+    /**
+     * 位图模式下位图在排班日期之后的保留天数
+     */
+    private int bitmapRetainDaysAfterSchedule = 1;
+
+    /**
+     * 位图对账任务每批处理的排班数（各模式均通过对账回写排班行位图）
+     */
+    private int bitmapReconcileBatchSize = 200;
+
+    /**
+     * 位图对账任务执行间隔（毫秒）
+     */
+    private long bitmapReconcileIntervalMs = 1000L;
+
+    /**
+     * 抢占模式枚举
+     */
+    public enum Mode {
+        /**
+         * 按排班加分布式锁（APPT_CREATE），串行抢占
+         */
+        LOCK,
+
+        /**
+         * 条件更新直接抢占，冲突时退回加锁
+         */
+        OPTIMISTIC,
+
+        /**
+         * 先在 Redis 占用位图上随机预占空闲时段，再条件更新该时段，冲突时退回加锁
+         */
+        BITMAP
+    }
+}
@@ -5,11 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
 import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
 import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleKeySet;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 自动排班领域服务
@@ -98,15 +99,34 @@ public class AutoScheduleService {
 
     /**
      * 过滤已存在的排班
+     * 已有排班先编码进组合键集合，候选排班逐个 O(1) 判断；同时去除候选之间的重复
      */
     private List<DoctorSchedule> filterExistingSchedules(
             List<DoctorSchedule> generated,
             List<DoctorSchedule> existing) {
 
-        return generated.stream()
-                .filter(g -> existing.stream().noneMatch(e -> e.getScheduleDate().equals(g.getScheduleDate()) &&
-                        e.getTimePeriod().equals(g.getTimePeriod())))
-                .collect(Collectors.toList());
+        if (generated.isEmpty()) {
+            return generated;
+        }
+
+        LocalDate baseDate = generated.stream()
+                .map(DoctorSchedule::getScheduleDate)
+                .min(LocalDate::compareTo)
+                .orElseThrow();
+        ScheduleKeySet keys = ScheduleKeySet.from(baseDate);
+        for (DoctorSchedule schedule : existing) {
+            if (!schedule.getScheduleDate().isBefore(baseDate)) {
+                keys.add(schedule.getScheduleDate(), schedule.getTimePeriod());
+            }
+        }
+
+        List<DoctorSchedule> result = new ArrayList<>(generated.size());
+        for (DoctorSchedule schedule : generated) {
+            if (keys.add(schedule.getScheduleDate(), schedule.getTimePeriod())) {
+                result.add(schedule);
+            }
+        }
+        return result;
     }
 
     /**
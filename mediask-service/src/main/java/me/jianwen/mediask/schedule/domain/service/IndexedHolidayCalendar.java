@@ -0,0 +1,92 @@
+package me.jianwen.mediask.schedule.domain.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.schedule.domain.repository.HolidayRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.HolidayDay;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 内存索引的节假日日历
+ * <p>
+ * 每年的节假日和调休工作日各用一个 BitSet 索引（下标为 dayOfYear - 1），查询为 O(1)。
+ * 重新加载时先构建完整的新快照，再通过 volatile 引用一次性替换，读操作全程无锁且不会读到半成品。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IndexedHolidayCalendar implements HolidayCalendar {
+
+    private final HolidayRepository holidayRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 启动时日历不可用不阻塞应用，由刷新任务重试
+            log.error("节假日日历加载失败，暂按无节假日处理", e);
+        }
+    }
+
+    /**
+     * 从仓储重新加载日历并替换快照
+     *
+     * @return 加载的特殊日期数
+     */
+    public int reload() {
+        List<HolidayDay> days = holidayRepository.findAll();
+        Map<Integer, BitSet> holidays = new HashMap<>();
+        Map<Integer, BitSet> makeupWorkdays = new HashMap<>();
+        for (HolidayDay day : days) {
+            Map<Integer, BitSet> index = day.isMakeupWorkday() ? makeupWorkdays : holidays;
+            index.computeIfAbsent(day.getDate().getYear(), year -> new BitSet(366))
+                    .set(day.getDate().getDayOfYear() - 1);
+        }
+        snapshot = new Snapshot(holidays, makeupWorkdays);
+        log.info("节假日日历已加载: {} 个特殊日期", days.size());
+        return days.size();
+    }
+
+    @Override
+    public boolean isHoliday(LocalDate date) {
+        return snapshot.holidays.getOrDefault(date.getYear(), Snapshot.NONE).get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public boolean isMakeupWorkday(LocalDate date) {
+        return snapshot.makeupWorkdays.getOrDefault(date.getYear(), Snapshot.NONE).get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public BitSet holidaysOf(int year) {
+        return (BitSet) snapshot.holidays.getOrDefault(year, Snapshot.NONE).clone();
+    }
+
+    @Override
+    public BitSet makeupWorkdaysOf(int year) {
+        return (BitSet) snapshot.makeupWorkdays.getOrDefault(year, Snapshot.NONE).clone();
+    }
+
+    /**
+     * 日历快照（构建后只读）
+     */
+    private record Snapshot(Map<Integer, BitSet> holidays, Map<Integer, BitSet> makeupWorkdays) {
+
+        private static final BitSet NONE = new BitSet();
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,235 @@
+package me.jianwen.mediask.schedule.domain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.schedule.config.ScheduleInventoryProperties;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.ScheduleInventoryRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 排班号源库存领域服务
+ * <p>
+ * 预约请求只在内存库存上扣减号源，数据库由 {@link #reconcile(int)} 异步回写。
+ * 库存未加载时从数据库读取一次排班并预加载（仅首个请求触达数据库）。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduleInventoryService {
+
+    private final ScheduleInventoryRepository inventoryRepository;
+    private final DoctorScheduleRepository scheduleRepository;
+    private final ScheduleInventoryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 扣减号源
+     *
+     * @param scheduleId 排班ID
+     * @return 扣减后剩余号源数
+     */
+    public int deduct(ScheduleId scheduleId) {
+        int remaining = inventoryRepository.tryDeduct(scheduleId);
+        if (remaining == ScheduleInventoryRepository.NOT_LOADED) {
+            load(scheduleId);
+            remaining = inventoryRepository.tryDeduct(scheduleId);
+        }
+
+        if (remaining == ScheduleInventoryRepository.FROZEN) {
+            // 停诊、调整号源等管理操作进行中
+            throw new BizException(ErrorCode.APPT_BUSY);
+        }
+        if (remaining == ScheduleInventoryRepository.SOLD_OUT) {
+            throw new BizException(ErrorCode.APPT_NO_SLOTS);
+        }
+        if (remaining == ScheduleInventoryRepository.NOT_LOADED) {
+            // 加载后立即被移除（并发停诊），按不可预约处理
+            throw new BizException(ErrorCode.SCHEDULE_UNAVAILABLE);
+        }
+
+        log.debug("号源扣减成功: scheduleId={}, remaining={}", scheduleId.getValue(), remaining);
+        return remaining;
+    }
+
+    /**
+     * 归还号源（取消预约）
+     * <p>
+     * 停诊、已过期的排班不再加载内存库存（停诊时已回写并移除），直接在数据库归还。
+     * </p>
+     *
+     * @param scheduleId 排班ID
+     * @return 归还后剩余号源数
+     */
+    public int restore(ScheduleId scheduleId) {
+        int remaining = inventoryRepository.restore(scheduleId);
+        if (remaining == ScheduleInventoryRepository.NOT_LOADED) {
+            DoctorSchedule schedule = findSchedule(scheduleId);
+            if (!isLoadable(schedule)) {
+                return restoreInDatabase(schedule);
+            }
+            preload(schedule);
+            remaining = inventoryRepository.restore(scheduleId);
+        }
+        if (remaining == ScheduleInventoryRepository.FROZEN) {
+            throw new BizException(ErrorCode.APPT_BUSY);
+        }
+        if (remaining == ScheduleInventoryRepository.NOT_LOADED) {
+            throw new BizException(ErrorCode.SCHEDULE_UNAVAILABLE);
+        }
+        log.debug("号源归还: scheduleId={}, remaining={}", scheduleId.getValue(), remaining);
+        return remaining;
+    }
+
+    /**
+     * 收回库存：冻结内存库存并在当前事务内回写剩余号源
+     * <p>
+     * 停诊、开诊、调整号源等管理操作在读取排班前调用，保证读到的号源数是最新的。
+     * 冻结期间扣减和归还返回繁忙，也不会按数据库中未提交前的旧值重新加载库存；
+     * 事务提交后移除内存库存，之后的请求按数据库最新状态重新加载；事务回滚时解冻，保留原有扣减。
+     * 没有事务时立即移除。
+     * </p>
+     */
+    public void flush(ScheduleId scheduleId) {
+        flush(List.of(scheduleId));
+    }
+
+    /**
+     * 批量收回库存（过期排班等批量管理操作调用，整批一条 SQL 回写）
+     *
+     * @see #flush(ScheduleId)
+     */
+    public void flush(Collection<ScheduleId> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+        Duration maxFrozen = Duration.ofSeconds(properties.getFreezeTimeoutSeconds());
+        Map<ScheduleId, Integer> frozen = new LinkedHashMap<>(scheduleIds.size() * 2);
+        for (ScheduleId scheduleId : scheduleIds) {
+            Integer available = inventoryRepository.freeze(scheduleId, maxFrozen);
+            if (available != null) {
+                frozen.put(scheduleId, available);
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                scheduleRepository.syncAvailableSlots(frozen);
+            } catch (RuntimeException e) {
+                scheduleIds.forEach(inventoryRepository::unfreeze);
+                throw e;
+            }
+            scheduleIds.forEach(inventoryRepository::evict);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    scheduleIds.forEach(inventoryRepository::evict);
+                } else {
+                    scheduleIds.forEach(inventoryRepository::unfreeze);
+                }
+            }
+        });
+        scheduleRepository.syncAvailableSlots(frozen);
+    }
+
+    /**
+     * 将一批库存变化回写数据库
+     * <p>
+     * 先对整批排班加行锁，再读取内存库存并回写：管理操作的事务未提交时库存处于冻结状态，跳过；
+     * 已提交时库存已移除或按提交后的数据库重新加载，读到的都是最新值，不会覆盖管理操作的写入。
+     * 加锁后才开始的管理操作会等待本事务提交，再按最新库存回写。
+     * </p>
+     *
+     * @param batchSize 每批条数
+     * @return 回写条数
+     */
+    public int reconcile(int batchSize) {
+        List<ScheduleId> dirty = inventoryRepository.drainDirty(batchSize);
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        try {
+            Integer synced = transactionTemplate.execute(status -> {
+                scheduleRepository.lockForUpdate(dirty);
+                Map<ScheduleId, Integer> snapshot = inventoryRepository.snapshot(dirty);
+                scheduleRepository.syncAvailableSlots(snapshot);
+                return snapshot.size();
+            });
+            return synced == null ? 0 : synced;
+        } catch (RuntimeException e) {
+            inventoryRepository.markDirty(dirty);
+            throw e;
+        }
+    }
+
+    private void load(ScheduleId scheduleId) {
+        DoctorSchedule schedule = findSchedule(scheduleId);
+        if (!isLoadable(schedule)) {
+            throw new BizException(ErrorCode.SCHEDULE_UNAVAILABLE);
+        }
+        preload(schedule);
+    }
+
+    private DoctorSchedule findSchedule(ScheduleId scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new BizException(ErrorCode.SCHEDULE_NOT_FOUND));
+    }
+
+    /**
+     * 约满的排班也需要加载，以便取消预约时归还号源；扣减由库存余量兜底
+     */
+    private boolean isLoadable(DoctorSchedule schedule) {
+        return schedule.getStatus().canCancel() && !schedule.isExpired();
+    }
+
+    private void preload(DoctorSchedule schedule) {
+        LocalDateTime expireAt = schedule.getScheduleDate()
+                .plusDays(properties.getRetainDaysAfterSchedule() + 1L)
+                .atStartOfDay();
+        Duration ttl = Duration.between(LocalDateTime.now(), expireAt);
+
+        inventoryRepository.preload(
+                schedule.getId(),
+                schedule.getCapacity().getAvailableSlots(),
+                schedule.getCapacity().getTotalSlots(),
+                ttl);
+    }
+
+    private int restoreInDatabase(DoctorSchedule schedule) {
+        ScheduleId scheduleId = schedule.getId();
+        if (scheduleRepository.restoreUnloadedSlot(scheduleId)) {
+            int remaining = schedule.getCapacity().getAvailableSlots() + 1;
+            log.debug("号源归还（数据库）: scheduleId={}, remaining={}", scheduleId.getValue(), remaining);
+            return remaining;
+        }
+
+        // 号源已满，或排班在读取后被重新开诊（之后的归还走内存库存）
+        DoctorSchedule current = findSchedule(scheduleId);
+        if (isLoadable(current)) {
+            return restore(scheduleId);
+        }
+        log.warn("号源已满额，忽略归还: scheduleId={}", scheduleId.getValue());
+        return current.getCapacity().getAvailableSlots();
+    }
+}
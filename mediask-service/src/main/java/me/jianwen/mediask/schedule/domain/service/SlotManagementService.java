@@ -2,14 +2,30 @@ package me.jianwen.mediask.schedule.domain.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.constant.LockKeys;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.common.lock.DistributedLock;
+import me.jianwen.mediask.common.lock.DistributedLockFactory;
+import me.jianwen.mediask.common.lock.exception.LockFencingException;
+import me.jianwen.mediask.schedule.config.SlotClaimProperties;
 import me.jianwen.mediask.schedule.domain.entity.AppointmentSlot;
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
 import me.jianwen.mediask.schedule.domain.repository.AppointmentSlotRepository;
-import me.jianwen.mediask.schedule.domain.valueobject.TimeSlot;
+import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.SlotOccupancyRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotLayout;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotOccupancy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 号源时段管理领域服务
@@ -23,32 +39,44 @@ import java.util.stream.Collectors;
 public class SlotManagementService {
 
     private final AppointmentSlotRepository slotRepository;
+    private final DoctorScheduleRepository scheduleRepository;
+    private final SlotOccupancyService occupancyService;
+    private final DistributedLockFactory lockFactory;
+    private final SlotClaimProperties claimProperties;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 为排班生成时段
-     * 根据排班的时段和每个号源的时长，自动生成时间片
+     * 根据排班的时段和每个号源的时长，按时间片布局生成号源时段，数量不超过总号源数
      *
      * @param schedule 排班
      * @return 生成的时段列表
      */
     public List<AppointmentSlot> generateSlotsForSchedule(DoctorSchedule schedule) {
-        log.info("为排班 {} 生成时段", schedule.getId());
-
-        // 1. 生成时间片列表
-        List<TimeSlot> timeSlots = schedule.generateTimeSlots();
-
-        // 2. 限制时间片数量不超过总号源数
-        List<TimeSlot> limitedSlots = timeSlots.stream()
-                .limit(schedule.getCapacity().getTotalSlots())
-                .collect(Collectors.toList());
-
-        // 3. 创建号源时段实体
-        List<AppointmentSlot> appointmentSlots = limitedSlots.stream()
-                .map(timeSlot -> AppointmentSlot.createAvailable(schedule.getId(), timeSlot))
-                .collect(Collectors.toList());
-
+        List<AppointmentSlot> appointmentSlots = new ArrayList<>(schedule.slotCount());
+        appendSlots(schedule, LocalDateTime.now(), appointmentSlots);
         log.info("为排班 {} 生成了 {} 个时段", schedule.getId(), appointmentSlots.size());
+        return appointmentSlots;
+    }
+
+    /**
+     * 为一批排班生成时段（结果列表按总数预分配，时间片实例共享）
+     *
+     * @param schedules 排班列表
+     * @return 生成的时段列表
+     */
+    public List<AppointmentSlot> generateSlotsForSchedules(List<DoctorSchedule> schedules) {
+        int total = 0;
+        for (DoctorSchedule schedule : schedules) {
+            total += schedule.slotCount();
+        }
 
+        List<AppointmentSlot> appointmentSlots = new ArrayList<>(total);
+        LocalDateTime now = LocalDateTime.now();
+        for (DoctorSchedule schedule : schedules) {
+            appendSlots(schedule, now, appointmentSlots);
+        }
+        log.info("为 {} 个排班生成了 {} 个时段", schedules.size(), appointmentSlots.size());
         return appointmentSlots;
     }
 
@@ -64,14 +92,58 @@ public class SlotManagementService {
     }
 
     /**
-     * 占用时段
+     * 为预约抢占排班下的一个空闲时段
+     * <p>
+     * OPTIMISTIC 模式：从随机位置开始对候选时段做条件更新，成功即返回，
+     * 候选全部冲突后才退回 APPT_CREATE 分布式锁；BITMAP 模式：在占用位图上随机预占空闲时段，
+     * 只按下标读取该时段并条件更新；LOCK 模式：始终加锁抢占。
+     * </p>
+     *
+     * @param scheduleId    排班ID
+     * @param appointmentId 预约ID
+     * @return 抢占到的时段
      */
-    public void occupySlot(Long slotId, Long appointmentId) {
-        AppointmentSlot slot = slotRepository.findById(slotId)
-                .orElseThrow(() -> new IllegalArgumentException("时段不存在: " + slotId));
+    public AppointmentSlot claimSlot(ScheduleId scheduleId, Long appointmentId) {
+        if (claimProperties.getMode() == SlotClaimProperties.Mode.BITMAP) {
+            AppointmentSlot slot = claimSlotWithBitmap(scheduleId, appointmentId);
+            if (slot != null) {
+                return slot;
+            }
+        } else if (claimProperties.getMode() == SlotClaimProperties.Mode.OPTIMISTIC) {
+            List<AppointmentSlot> candidates = slotRepository.findAvailableBySchedule(scheduleId);
+            if (candidates.isEmpty()) {
+                throw new BizException(ErrorCode.APPT_NO_SLOTS);
+            }
+
+            // 随机起点，避免所有请求争抢同一个时段
+            int size = candidates.size();
+            int start = ThreadLocalRandom.current().nextInt(size);
+            int attempts = Math.min(size, claimProperties.getMaxOptimisticAttempts());
+            for (int i = 0; i < attempts; i++) {
+                AppointmentSlot slot = candidates.get((start + i) % size);
+                if (slotRepository.tryOccupy(slot.getId(), appointmentId)) {
+                    slot.occupy(appointmentId);
+                    syncOccupancy(slot, true);
+                    log.info("时段 {} 已被预约 {} 占用", slot.getId(), appointmentId);
+                    return slot;
+                }
+            }
+            log.debug("乐观抢占冲突，退回加锁: scheduleId={}, attempts={}", scheduleId.getValue(), attempts);
+        }
 
-        slot.occupy(appointmentId);
-        slotRepository.save(slot);
+        return claimSlotWithLock(scheduleId, appointmentId);
+    }
+
+    /**
+     * 占用指定时段
+     */
+    public void occupySlot(Long slotId, Long appointmentId) {
+        if (!slotRepository.tryOccupy(slotId, appointmentId)) {
+            slotRepository.findById(slotId)
+                    .orElseThrow(() -> new IllegalArgumentException("时段不存在: " + slotId));
+            throw new IllegalStateException("时段已被占用");
+        }
+        slotRepository.findById(slotId).ifPresent(slot -> syncOccupancy(slot, true));
 
         log.info("时段 {} 已被预约 {} 占用", slotId, appointmentId);
     }
@@ -83,9 +155,150 @@ public class SlotManagementService {
         AppointmentSlot slot = slotRepository.findById(slotId)
                 .orElseThrow(() -> new IllegalArgumentException("时段不存在: " + slotId));
 
-        slot.release();
-        slotRepository.save(slot);
+        // 幂等性保证：未占用或已被其他请求释放时直接返回
+        if (slot.isAvailable() || !slotRepository.tryRelease(slotId, slot.getAppointmentId())) {
+            return;
+        }
+        syncOccupancy(slot, false);
 
         log.info("时段 {} 已释放", slotId);
     }
+
+    /**
+     * 统计排班的空闲时段数
+     */
+    public long countAvailableSlots(ScheduleId scheduleId) {
+        if (claimProperties.getMode() == SlotClaimProperties.Mode.BITMAP) {
+            return occupancyService.countFree(scheduleId);
+        }
+        return slotRepository.countAvailableBySchedule(scheduleId);
+    }
+
+    /**
+     * 判断排班的第 slotIndex 个时段是否空闲
+     */
+    public boolean isSlotAvailable(ScheduleId scheduleId, int slotIndex) {
+        if (claimProperties.getMode() == SlotClaimProperties.Mode.BITMAP) {
+            return occupancyService.isFree(scheduleId, slotIndex);
+        }
+        return slotRepository.findByScheduleAndIndex(scheduleId, slotIndex)
+                .map(AppointmentSlot::isAvailable)
+                .orElse(false);
+    }
+
+    /**
+     * 查询排班的第一个空闲时段
+     */
+    public Optional<AppointmentSlot> findFirstAvailableSlot(ScheduleId scheduleId) {
+        if (claimProperties.getMode() == SlotClaimProperties.Mode.BITMAP) {
+            int index = occupancyService.firstFree(scheduleId);
+            if (index == SlotOccupancyRepository.NO_FREE_SLOT) {
+                return Optional.empty();
+            }
+            return slotRepository.findByScheduleAndIndex(scheduleId, index);
+        }
+        return slotRepository.findAvailableBySchedule(scheduleId).stream().findFirst();
+    }
+
+    /**
+     * 位图抢占：预占位图上的空闲时段后条件更新该时段
+     * 位图与时段行不一致时保留占用位（时段行已被占用）并换下一个，由对账任务按时段行修正
+     *
+     * @return 抢占到的时段，全部冲突时返回 null
+     */
+    private AppointmentSlot claimSlotWithBitmap(ScheduleId scheduleId, Long appointmentId) {
+        int attempts = claimProperties.getMaxOptimisticAttempts();
+        for (int i = 0; i < attempts; i++) {
+            int index = occupancyService.reserve(scheduleId);
+            if (index == SlotOccupancyRepository.NO_FREE_SLOT) {
+                throw new BizException(ErrorCode.APPT_NO_SLOTS);
+            }
+
+            Optional<AppointmentSlot> candidate = slotRepository.findByScheduleAndIndex(scheduleId, index);
+            if (candidate.isPresent() && slotRepository.tryOccupy(candidate.get().getId(), appointmentId)) {
+                AppointmentSlot slot = candidate.get();
+                slot.occupy(appointmentId);
+                log.info("时段 {} 已被预约 {} 占用", slot.getId(), appointmentId);
+                return slot;
+            }
+        }
+        log.debug("位图抢占冲突，退回加锁: scheduleId={}, attempts={}", scheduleId.getValue(), attempts);
+        return null;
+    }
+
+    /**
+     * 加锁抢占：同一排班串行执行
+     * 锁内仍使用条件更新，因为乐观模式的请求不经过该锁。
+     * 抢占在一个事务内完成：先推进排班行上的锁防护令牌（排班行锁持有到提交），
+     * 再以"排班行令牌等于本次令牌"为条件占用时段；租约过期后的旧持有者令牌较小，
+     * 推进失败时抛出 {@link LockFencingException}，不会占用任何时段。
+     */
+    private AppointmentSlot claimSlotWithLock(ScheduleId scheduleId, Long appointmentId) {
+        String lockKey = LockKeys.APPT_CREATE.buildKey(scheduleId.getValue());
+        AppointmentSlot claimed;
+        try (DistributedLock lock = lockFactory.createFencedLock(lockKey)) {
+            if (!lock.tryLock(LockKeys.APPT_CREATE.getRecommendedWaitTime(),
+                    LockKeys.APPT_CREATE.getRecommendedLeaseTime(), TimeUnit.SECONDS)) {
+                throw new BizException(ErrorCode.APPT_BUSY);
+            }
+            Long fencingToken = lock.getFencingToken();
+            if (fencingToken == null) {
+                // 锁实现不支持防护令牌（或已失去持有），无法保证写入不被旧持有者覆盖
+                log.warn("未获取到锁防护令牌: lockKey={}", lock.getLockKey());
+                throw new BizException(ErrorCode.APPT_LOCKED);
+            }
+            claimed = transactionTemplate.execute(status ->
+                    claimSlotFenced(scheduleId, appointmentId, lock.getLockKey(), fencingToken));
+        }
+        if (claimed == null) {
+            throw new BizException(ErrorCode.APPT_NO_SLOTS);
+        }
+        syncOccupancy(claimed, true);
+        log.info("时段 {} 已被预约 {} 占用", claimed.getId(), appointmentId);
+        return claimed;
+    }
+
+    /**
+     * 带防护令牌抢占（事务内）
+     *
+     * @return 抢占到的时段，没有空闲时段时返回 null
+     */
+    private AppointmentSlot claimSlotFenced(ScheduleId scheduleId, Long appointmentId,
+                                            String lockKey, long fencingToken) {
+        if (!scheduleRepository.advanceFencingToken(scheduleId, fencingToken)) {
+            throw new LockFencingException(lockKey, fencingToken);
+        }
+        for (AppointmentSlot slot : slotRepository.findAvailableBySchedule(scheduleId)) {
+            if (slotRepository.tryOccupy(slot.getId(), appointmentId, scheduleId, fencingToken)) {
+                slot.occupy(appointmentId);
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static void appendSlots(DoctorSchedule schedule, LocalDateTime now, List<AppointmentSlot> target) {
+        SlotLayout layout = schedule.slotLayout();
+        int count = schedule.slotCount();
+        for (int i = 0; i < count; i++) {
+            target.add(AppointmentSlot.createAvailable(schedule.getId(), layout.timeSlotAt(i), now));
+        }
+    }
+
+    /**
+     * 同步时段占用位图
+     * 时段行是占用状态的准据，排班行上的位图不在抢占路径上写入，只标记待对账，
+     * 由对账任务按时段行批量重建回写；位图模式下同时更新内存位图
+     */
+    private void syncOccupancy(AppointmentSlot slot, boolean occupied) {
+        if (claimProperties.getMode() != SlotClaimProperties.Mode.BITMAP) {
+            occupancyService.markDirty(slot.getScheduleId());
+            return;
+        }
+        // 位图模式下更新内存位图（同时标记待对账）
+        int index = slotRepository.findSlotIndex(slot.getScheduleId(), slot.getTimeSlot().getStartTime());
+        if (index < SlotOccupancy.MAX_SLOTS) {
+            occupancyService.markSlot(slot.getScheduleId(), index, occupied);
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package me.jianwen.mediask.schedule.domain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.schedule.config.SlotClaimProperties;
+import me.jianwen.mediask.schedule.domain.entity.AppointmentSlot;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.repository.AppointmentSlotRepository;
+import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.SlotOccupancyRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotOccupancy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 时段占用位图领域服务
+ * <p>
+ * 可用性判断和时段预占只访问内存位图；位图未加载时按时段行构建一次。
+ * 时段行是占用状态的准据，位图发生变化的排班由 {@link #reconcile(int)} 异步按时段行重建，
+ * 同时回写 doctor_schedules.occupied_slots。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SlotOccupancyService {
+
+    private final SlotOccupancyRepository occupancyRepository;
+    private final AppointmentSlotRepository slotRepository;
+    private final DoctorScheduleRepository scheduleRepository;
+    private final SlotClaimProperties properties;
+
+    /**
+     * 随机预占一个空闲时段
+     *
+     * @return 时段下标，没有空闲时段时返回 {@link SlotOccupancyRepository#NO_FREE_SLOT}
+     */
+    public int reserve(ScheduleId scheduleId) {
+        int seed = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+        int index = occupancyRepository.reserve(scheduleId, seed);
+        if (index == SlotOccupancyRepository.NOT_LOADED) {
+            load(scheduleId, true);
+            index = occupancyRepository.reserve(scheduleId, seed);
+        }
+        if (index == SlotOccupancyRepository.NOT_LOADED) {
+            throw new BizException(ErrorCode.SCHEDULE_UNAVAILABLE);
+        }
+        return index;
+    }
+
+    /**
+     * 设置时段占用位（位图未加载时忽略，下次加载以时段行为准）
+     */
+    public void markSlot(ScheduleId scheduleId, int slotIndex, boolean occupied) {
+        occupancyRepository.markSlot(scheduleId, slotIndex, occupied);
+    }
+
+    /**
+     * 标记排班待对账（时段行已变化，由对账任务重建位图并回写排班行）
+     * 处于事务中时在提交后标记，避免对账任务读到未提交的时段行
+     */
+    public void markDirty(ScheduleId scheduleId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            occupancyRepository.markDirty(List.of(scheduleId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                occupancyRepository.markDirty(List.of(scheduleId));
+            }
+        });
+    }
+
+    /**
+     * 空闲时段数
+     */
+    public int countFree(ScheduleId scheduleId) {
+        int free = occupancyRepository.countFree(scheduleId);
+        if (free == SlotOccupancyRepository.NOT_LOADED) {
+            load(scheduleId, false);
+            free = occupancyRepository.countFree(scheduleId);
+        }
+        return Math.max(free, 0);
+    }
+
+    /**
+     * 第一个空闲时段
+     *
+     * @return 时段下标，没有空闲时段时返回 {@link SlotOccupancyRepository#NO_FREE_SLOT}
+     */
+    public int firstFree(ScheduleId scheduleId) {
+        int index = occupancyRepository.firstFree(scheduleId);
+        if (index == SlotOccupancyRepository.NOT_LOADED) {
+            load(scheduleId, false);
+            index = occupancyRepository.firstFree(scheduleId);
+        }
+        return index < 0 ? SlotOccupancyRepository.NO_FREE_SLOT : index;
+    }
+
+    /**
+     * 时段是否空闲
+     */
+    public boolean isFree(ScheduleId scheduleId, int slotIndex) {
+        int free = occupancyRepository.isFree(scheduleId, slotIndex);
+        if (free == SlotOccupancyRepository.NOT_LOADED) {
+            load(scheduleId, false);
+            free = occupancyRepository.isFree(scheduleId, slotIndex);
+        }
+        return free == 1;
+    }
+
+    /**
+     * 按时段行重建一批待对账排班的位图，并回写排班行上的占用位图
+     *
+     * @param batchSize 每批条数
+     * @return 对账条数
+     */
+    public int reconcile(int batchSize) {
+        Set<ScheduleId> dirty = occupancyRepository.drainDirty(batchSize);
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        try {
+            Map<ScheduleId, Long> masks = new HashMap<>(dirty.size() * 2);
+            for (ScheduleId scheduleId : dirty) {
+                List<AppointmentSlot> slots = slotRepository.findBySchedule(scheduleId);
+                long mask = maskOf(slots);
+                occupancyRepository.refresh(scheduleId, mask, slotCountOf(slots));
+                masks.put(scheduleId, mask);
+            }
+            scheduleRepository.syncOccupiedSlots(masks);
+        } catch (RuntimeException e) {
+            occupancyRepository.markDirty(dirty);
+            throw e;
+        }
+        return dirty.size();
+    }
+
+    private void load(ScheduleId scheduleId, boolean forClaim) {
+        DoctorSchedule schedule = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new BizException(ErrorCode.SCHEDULE_NOT_FOUND));
+        if (forClaim && (!schedule.getStatus().canAppointment() || schedule.isExpired())) {
+            throw new BizException(ErrorCode.SCHEDULE_UNAVAILABLE);
+        }
+
+        LocalDateTime expireAt = schedule.getScheduleDate()
+                .plusDays(properties.getBitmapRetainDaysAfterSchedule() + 1L)
+                .atStartOfDay();
+        Duration ttl = Duration.between(LocalDateTime.now(), expireAt);
+
+        List<AppointmentSlot> slots = slotRepository.findBySchedule(scheduleId);
+        occupancyRepository.preload(scheduleId, maskOf(slots), slotCountOf(slots), ttl);
+    }
+
+    /**
+     * 时段行（按开始时间排序）转占用位图
+     */
+    private static long maskOf(List<AppointmentSlot> slots) {
+        long mask = 0L;
+        int count = slotCountOf(slots);
+        for (int i = 0; i < count; i++) {
+            if (slots.get(i).isOccupied()) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    private static int slotCountOf(List<AppointmentSlot> slots) {
+        return Math.min(slots.size(), SlotOccupancy.MAX_SLOTS);
+    }
+}
@@ -0,0 +1,166 @@
+package me.jianwen.mediask.schedule.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.ErrorCode;
+import me.jianwen.mediask.common.exception.BizException;
+import me.jianwen.mediask.schedule.config.ScheduleInventoryProperties;
+import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.repository.DoctorScheduleRepository;
+import me.jianwen.mediask.schedule.domain.repository.SlotShardRepository;
+import me.jianwen.mediask.schedule.domain.valueobject.ScheduleId;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotCapacity;
+import me.jianwen.mediask.schedule.domain.valueobject.SlotShards;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 分片号源计数领域服务
+ * <p>
+ * 预约从随机分片开始扣减，分片耗尽时依次探测其余分片；
+ * 并发写入分散在多行上，吞吐随分片数增长而不是受限于单行锁。
+ * 分片数在排班创建时确定并保存在排班行上（slot_shard_count），扣减和归还按排班自身的分片数探测，
+ * 修改配置只影响之后新建的排班；分片数创建后不变，按排班缓存在本地。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SlotShardService {
+
+    private final SlotShardRepository shardRepository;
+    private final DoctorScheduleRepository scheduleRepository;
+    private final ScheduleInventoryProperties properties;
+
+    /**
+     * 排班ID -> 分片数（创建后不变）
+     */
+    private final Cache<Long, Integer> shardCounts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofDays(1))
+            .build();
+
+    /**
+     * 是否启用分片计数模式
+     */
+    public boolean isEnabled() {
+        return properties.getMode() == ScheduleInventoryProperties.Mode.SHARDED;
+    }
+
+    /**
+     * 新建排班开启分片计数（保存排班之前调用）
+     */
+    public void prepare(DoctorSchedule schedule) {
+        if (isEnabled() && properties.getShardCount() > 1) {
+            schedule.enableSlotSharding(properties.getShardCount());
+        }
+    }
+
+    /**
+     * 按排班当前容量写入分片（保存排班之后调用）
+     */
+    public void initialize(DoctorSchedule schedule) {
+        initialize(List.of(schedule));
+    }
+
+    /**
+     * 按各排班当前容量批量写入分片（一批排班一次写入）
+     */
+    public void initialize(Collection<DoctorSchedule> schedules) {
+        Map<ScheduleId, SlotShards> shards = new LinkedHashMap<>();
+        for (DoctorSchedule schedule : schedules) {
+            if (schedule.isSlotSharded()) {
+                shards.put(schedule.getId(), schedule.splitSlotShards());
+            }
+        }
+        shardRepository.saveShards(shards);
+    }
+
+    /**
+     * 锁定分片并以最新汇总容量覆盖排班容量（调整号源前调用，需在事务内）
+     */
+    public void lockCapacity(DoctorSchedule schedule) {
+        if (schedule.isSlotSharded()) {
+            schedule.setCapacity(shardRepository.lockCapacity(schedule.getId()));
+        }
+    }
+
+    /**
+     * 查询排班的分片数（按排班缓存）
+     *
+     * @return 分片数，1 表示该排班未开启分片计数
+     */
+    public int shardCountOf(ScheduleId scheduleId) {
+        return shardCounts.get(scheduleId.getValue(), id -> scheduleRepository.findSlotShardCount(scheduleId)
+                .orElseThrow(() -> new BizException(ErrorCode.SCHEDULE_NOT_FOUND)));
+    }
+
+    /**
+     * 扣减号源
+     * 分片扣减在同一条 SQL 中校验排班可预约且未过期，与 {@link DoctorSchedule#decreaseSlot()} 的约束一致
+     * <p>
+     * 返回值取自扣减成功的分片本身，不汇总其余分片（避免每次预约都执行一次聚合查询）；
+     * 分片剩余数是排班剩余数的下界，只有分片扣减到 0 时才汇总各分片判断排班是否约满。
+     * 因此返回 0 当且仅当扣减时排班已约满（非锁定读取，并发时以最后一次为准）。
+     * </p>
+     *
+     * @param shardCount 排班自身的分片数（{@link #shardCountOf}）
+     * @return 剩余号源数的下界，0 表示排班已约满
+     */
+    public int decrease(ScheduleId scheduleId, int shardCount) {
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shardNo = (start + i) % shardCount;
+            int remaining = shardRepository.tryDecrease(scheduleId, shardNo);
+            if (remaining != SlotShardRepository.SHARD_UNAVAILABLE) {
+                log.debug("分片扣减号源: scheduleId={}, shardNo={}, shardRemaining={}",
+                        scheduleId.getValue(), shardNo, remaining);
+                return remaining > 0 ? remaining : remainingOf(scheduleId);
+            }
+        }
+        // 全部分片扣减失败：区分售罄与排班不可预约（低频路径）
+        throw new BizException(isAppointable(scheduleId) ? ErrorCode.APPT_NO_SLOTS : ErrorCode.SCHEDULE_UNAVAILABLE);
+    }
+
+    /**
+     * 归还号源（全部分片满额或排班不可取消时忽略）
+     *
+     * @param shardCount 排班自身的分片数（{@link #shardCountOf}）
+     * @return 归还成功的分片剩余数（排班剩余数的下界），忽略归还时返回各分片汇总的剩余数
+     */
+    public int increase(ScheduleId scheduleId, int shardCount) {
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shardNo = (start + i) % shardCount;
+            int remaining = shardRepository.tryIncrease(scheduleId, shardNo);
+            if (remaining != SlotShardRepository.SHARD_UNAVAILABLE) {
+                log.debug("分片归还号源: scheduleId={}, shardNo={}, shardRemaining={}",
+                        scheduleId.getValue(), shardNo, remaining);
+                return remaining;
+            }
+        }
+        log.warn("分片均已满额或排班不可取消，忽略归还: scheduleId={}", scheduleId.getValue());
+        return remainingOf(scheduleId);
+    }
+
+    private boolean isAppointable(ScheduleId scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+                .map(schedule -> schedule.getStatus().canAppointment() && !schedule.isExpired())
+                .orElse(false);
+    }
+
+    private int remainingOf(ScheduleId scheduleId) {
+        SlotCapacity capacity = shardRepository.sumCapacity(List.of(scheduleId)).get(scheduleId);
+        return capacity == null ? 0 : capacity.getAvailableSlots();
+    }
+}
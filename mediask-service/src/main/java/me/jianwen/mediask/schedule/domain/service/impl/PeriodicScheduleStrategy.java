@@ -3,17 +3,19 @@ package me.jianwen.mediask.schedule.domain.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.jianwen.mediask.schedule.domain.entity.DoctorSchedule;
+import me.jianwen.mediask.schedule.domain.rule.CompiledScheduleRule;
 import me.jianwen.mediask.schedule.domain.rule.ScheduleRule;
 import me.jianwen.mediask.schedule.domain.service.AutoScheduleStrategy;
+import me.jianwen.mediask.schedule.domain.service.HolidayCalendar;
 import me.jianwen.mediask.schedule.domain.service.ScheduleContext;
 import me.jianwen.mediask.schedule.domain.valueobject.DoctorId;
 import me.jianwen.mediask.schedule.domain.valueobject.TimePeriod;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * 周期性排班策略
@@ -30,6 +32,11 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class PeriodicScheduleStrategy implements AutoScheduleStrategy {
 
+    /**
+     * 节假日日历（未配置时不排除节假日）
+     */
+    private final ObjectProvider<HolidayCalendar> holidayCalendarProvider;
+
     @Override
     public String getStrategyName() {
         return "PERIODIC";
@@ -45,36 +52,21 @@ public class PeriodicScheduleStrategy implements AutoScheduleStrategy {
         log.info("使用周期性排班策略为医生 {} 生成 {} 到 {} 的排班",
                 doctorId.getValue(), startDate, endDate);
 
-        ScheduleRule rule = context.getScheduleRule();
+        HolidayCalendar holidayCalendar = holidayCalendarProvider.getIfAvailable(() -> HolidayCalendar.NONE);
+        CompiledScheduleRule rule = context.getCompiledRule(holidayCalendar);
         List<DoctorSchedule> schedules = new ArrayList<>();
 
-        // 遍历日期范围
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-
-            // 检查规则是否在当前日期生效
-            if (rule.isEffectiveOn(currentDate)) {
-
-                // 获取当天应该排班的时段
-                Set<TimePeriod> periods = rule.getEffectivePeriodsOn(currentDate);
-
-                // 为每个时段生成排班
-                for (TimePeriod period : periods) {
-                    DoctorSchedule schedule = DoctorSchedule.create(
-                            doctorId,
-                            currentDate,
-                            period,
-                            rule.getSlotsPerPeriod(),
-                            rule.getSlotDurationMinutes());
-                    schedules.add(schedule);
-
-                    log.debug("生成排班: 日期={}, 时段={}, 号源数={}",
-                            currentDate, period.getDescription(), rule.getSlotsPerPeriod());
-                }
+        // 位图扫描生效日期，为每个时段生成排班
+        rule.forEachEffectiveDate(startDate, endDate, date -> {
+            for (TimePeriod period : rule.getPeriods()) {
+                schedules.add(DoctorSchedule.create(
+                        doctorId,
+                        date,
+                        period,
+                        rule.getSlotsPerPeriod(),
+                        rule.getSlotDurationMinutes()));
             }
-
-            currentDate = currentDate.plusDays(1);
-        }
+        });
 
         log.info("周期性排班策略完成，共生成 {} 条排班", schedules.size());
         return schedules;
@@ -0,0 +1,29 @@
+package me.jianwen.mediask.worker.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 进程内消息总线（本地开发与测试使用）
+ * 将消息作为 Spring 事件发布，监听 {@link OutboxMessage} 即可消费
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "mediask.outbox.relay", name = "bus", havingValue = "local", matchIfMissing = true)
+public class LocalOutboxEventBus implements OutboxEventBus {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(OutboxMessage message) {
+        log.debug("发件箱消息: id={}, type={}, aggregateId={}",
+                message.getId(), message.getEventType(), message.getAggregateId());
+        eventPublisher.publishEvent(message);
+    }
+}
@@ -0,0 +1,18 @@
+package me.jianwen.mediask.worker.outbox;
+
+/**
+ * 发件箱消息总线
+ * <p>
+ * 由 mediask.outbox.relay.bus 选择实现：local（进程内，默认）/ rocketmq。
+ * publish 正常返回即视为投递成功，抛出异常时中继停止本批次并在下次轮询重试。
+ * </p>
+ *
+ * @author jianwen
+ */
+public interface OutboxEventBus {
+
+    /**
+     * 投递消息（同步，至少一次）
+     */
+    void publish(OutboxMessage message);
+}
@@ -0,0 +1,37 @@
+package me.jianwen.mediask.worker.outbox;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱中继投递的消息
+ *
+ * @author jianwen
+ */
+@Value
+@Builder
+public class OutboxMessage {
+
+    /**
+     * 发件箱ID（全局递增，消费方据此去重）
+     */
+    Long id;
+
+    String aggregateType;
+
+    /**
+     * 聚合ID（分区键，同一聚合的消息有序）
+     */
+    String aggregateId;
+
+    String eventType;
+
+    /**
+     * 事件内容 JSON
+     */
+    String payload;
+
+    LocalDateTime occurredAt;
+}
@@ -0,0 +1,187 @@
+package me.jianwen.mediask.worker.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import me.jianwen.mediask.common.constant.LockKeys;
+import me.jianwen.mediask.common.lock.DistributedLock;
+import me.jianwen.mediask.common.lock.DistributedLockFactory;
+import me.jianwen.mediask.dal.entity.OutboxEventDO;
+import me.jianwen.mediask.dal.mapper.OutboxEventMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 发件箱中继
+ * <p>
+ * 定时按ID顺序批量读取待投递事件并投递到消息总线，成功的前缀一次性批量标记为已投递。
+ * 多实例部署时通过任务锁保证同一时间只有一个实例投递，从而保持写入顺序；
+ * 某条投递失败时停止本批次（后续事件不越过它），下次轮询重试，失败次数超过上限后标记为投递失败并跳过。
+ * 投递与标记之间宕机会导致重复投递（至少一次），消费方按发件箱ID去重。
+ * </p>
+ * <p>
+ * 指标：outbox.relay.published / outbox.relay.failures（吞吐），
+ * outbox.relay.delivery.lag（写入到投递的延迟），outbox.relay.lag（最早待投递事件的积压时长）。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String JOB_NAME = "outbox-relay";
+    private static final String CLEANUP_JOB_NAME = "outbox-cleanup";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventMapper outboxEventMapper;
+    private final OutboxEventBus eventBus;
+    private final DistributedLockFactory lockFactory;
+    private final OutboxRelayProperties properties;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer deliveryLag;
+    private final Timer batchTimer;
+    private final AtomicLong backlogMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventMapper outboxEventMapper,
+                       OutboxEventBus eventBus,
+                       DistributedLockFactory lockFactory,
+                       OutboxRelayProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventMapper = outboxEventMapper;
+        this.eventBus = eventBus;
+        this.lockFactory = lockFactory;
+        this.properties = properties;
+        this.published = Counter.builder("outbox.relay.published")
+                .description("已投递的发件箱事件数")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("投递失败次数")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.relay.delivery.lag")
+                .description("事件写入发件箱到投递成功的延迟")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("单批投递耗时")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.relay.lag", backlogMillis, TimeUnit.MILLISECONDS, AtomicLong::doubleValue)
+                .description("最早一条待投递事件的积压时长")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mediask.outbox.relay.poll-interval-ms:200}")
+    public void drain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        DistributedLock lock = lockFactory.createLock(LockKeys.JOB_EXECUTE.buildKey(JOB_NAME));
+        if (!lock.tryLock(0, LockKeys.JOB_EXECUTE.getRecommendedLeaseTime(), TimeUnit.SECONDS)) {
+            // 其他实例正在投递
+            return;
+        }
+        try {
+            for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+                List<OutboxEventDO> batch = outboxEventMapper.selectPending(properties.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int relayed = batchTimer.record(() -> relay(batch));
+                if (relayed < batch.size() || batch.size() < properties.getBatchSize()) {
+                    break;
+                }
+            }
+            updateBacklog();
+        } catch (Exception e) {
+            log.error("发件箱投递失败，下次轮询重试", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清理已投递事件
+     */
+    @Scheduled(cron = "${mediask.outbox.relay.cleanup-cron:0 30 3 * * ?}")
+    public void cleanup() {
+        try (DistributedLock lock = lockFactory.createLock(LockKeys.JOB_EXECUTE.buildKey(CLEANUP_JOB_NAME))) {
+            if (!lock.tryLock(0, LockKeys.JOB_EXECUTE.getRecommendedLeaseTime(), TimeUnit.SECONDS)) {
+                log.info("发件箱清理正在其他实例执行，跳过");
+                return;
+            }
+            LocalDateTime before = LocalDateTime.now().minusHours(properties.getRetainHours());
+            long total = 0;
+            int deleted;
+            do {
+                deleted = outboxEventMapper.deletePublishedBefore(before, properties.getCleanupBatchSize());
+                total += deleted;
+            } while (deleted >= properties.getCleanupBatchSize());
+            log.info("发件箱清理完成: 删除 {} 条 {} 之前已投递的事件", total, before);
+        } catch (Exception e) {
+            log.error("发件箱清理失败", e);
+        }
+    }
+
+    /**
+     * 按顺序投递一批事件，遇到失败即停止
+     *
+     * @return 成功投递的条数
+     */
+    private int relay(List<OutboxEventDO> batch) {
+        List<Long> relayedIds = new ArrayList<>(batch.size());
+        try {
+            for (OutboxEventDO event : batch) {
+                try {
+                    eventBus.publish(toMessage(event));
+                } catch (Exception e) {
+                    failures.increment();
+                    outboxEventMapper.recordFailure(event.getId(), abbreviate(e), properties.getMaxAttempts());
+                    log.warn("发件箱事件投递失败: id={}, type={}, attempts={}",
+                            event.getId(), event.getEventType(), event.getAttempts() + 1, e);
+                    break;
+                }
+                relayedIds.add(event.getId());
+                if (event.getCreatedAt() != null) {
+                    deliveryLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                }
+            }
+        } finally {
+            if (!relayedIds.isEmpty()) {
+                outboxEventMapper.markPublished(relayedIds, LocalDateTime.now());
+                published.increment(relayedIds.size());
+            }
+        }
+        return relayedIds.size();
+    }
+
+    private void updateBacklog() {
+        LocalDateTime oldest = outboxEventMapper.selectOldestPendingCreatedAt();
+        backlogMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+
+    private static OutboxMessage toMessage(OutboxEventDO event) {
+        return OutboxMessage.builder()
+                .id(event.getId())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .eventType(event.getEventType())
+                .payload(event.getPayload())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+
+    private static String abbreviate(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
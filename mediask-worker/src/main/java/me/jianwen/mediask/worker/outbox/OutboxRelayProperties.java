@@ -0,0 +1,64 @@
+package me.jianwen.mediask.worker.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 发件箱中继配置
+ * <p>
+ * 配置前缀：mediask.outbox.relay
+ * </p>
+ *
+ * @author jianwen
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mediask.outbox.relay")
+public class OutboxRelayProperties {
+
+    /**
+     * 是否启用中继
+     */
+    private boolean enabled = true;
+
+    /**
+     * 消息总线：local / rocketmq
+     */
+    private String bus = "local";
+
+    /**
+     * RocketMQ 主题
+     */
+    private String topic = "mediask-domain-events";
+
+    /**
+     * 每批读取条数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 每次轮询最多处理的批数（之后释放任务锁，下次轮询继续）
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * 轮询间隔（毫秒）
+     */
+    private long pollIntervalMs = 200;
+
+    /**
+     * 单条消息最多失败次数，超过后标记为投递失败并跳过，避免阻塞后续消息
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 已投递事件保留时长（小时）
+     */
+    private int retainHours = 72;
+
+    /**
+     * 已投递事件清理时每块删除条数
+     */
+    private int cleanupBatchSize = 1000;
+}
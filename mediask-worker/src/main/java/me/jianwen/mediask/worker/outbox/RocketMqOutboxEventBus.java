@@ -0,0 +1,43 @@
+package me.jianwen.mediask.worker.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.rocketmq.client.producer.SendResult;
+import org.apache.rocketmq.client.producer.SendStatus;
+import org.apache.rocketmq.spring.core.RocketMQTemplate;
+import org.apache.rocketmq.spring.support.RocketMQHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * RocketMQ 消息总线
+ * <p>
+ * 目标为 {topic}:{eventType}，按聚合ID选择队列（顺序发送），同一聚合的消息有序；
+ * 消息 Key 为发件箱ID，消费方据此去重。
+ * </p>
+ *
+ * @author jianwen
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "mediask.outbox.relay", name = "bus", havingValue = "rocketmq")
+public class RocketMqOutboxEventBus implements OutboxEventBus {
+
+    private final RocketMQTemplate rocketMQTemplate;
+    private final OutboxRelayProperties properties;
+
+    @Override
+    public void publish(OutboxMessage message) {
+        Message<String> payload = MessageBuilder.withPayload(message.getPayload())
+                .setHeader(RocketMQHeaders.KEYS, String.valueOf(message.getId()))
+                .setHeader("aggregateType", message.getAggregateType())
+                .setHeader("aggregateId", message.getAggregateId())
+                .build();
+        SendResult result = rocketMQTemplate.syncSendOrderly(
+                properties.getTopic() + ":" + message.getEventType(), payload, message.getAggregateId());
+        if (result.getSendStatus() != SendStatus.SEND_OK) {
+            throw new IllegalStateException("RocketMQ 发送未确认: " + result.getSendStatus());
+        }
+    }
+}